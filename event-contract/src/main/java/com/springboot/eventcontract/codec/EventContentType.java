@@ -0,0 +1,49 @@
+package com.springboot.eventcontract.codec;
+
+import java.util.Arrays;
+
+/**
+ * Wire formats an event value can be written in. The format travels in the
+ * {@value #HEADER} record header, so producers can switch formats while consumers still
+ * read both.
+ */
+public enum EventContentType {
+    // the original Jackson representation
+    JSON("application/json"),
+    // OrderCreatedCodec, version 1
+    BINARY("application/vnd.order-created.v1+binary"),
+    // OrderCreatedEnvelope: several events for one key in a single record
+    ENVELOPE("application/vnd.order-created-envelope.v1+binary");
+
+    public static final String HEADER = "content-type";
+
+    private final String mimeType;
+
+    EventContentType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+
+    public static EventContentType fromMimeType(String mimeType) {
+        return Arrays.stream(values())
+                .filter(type -> type.mimeType.equalsIgnoreCase(mimeType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported content type: " + mimeType));
+    }
+
+    /**
+     * Tells the formats apart by their first byte, for records written without a header.
+     */
+    public static EventContentType detect(byte[] data) {
+        if (data == null || data.length == 0) {
+            return JSON;
+        }
+        if (data[0] == OrderCreatedCodec.MARKER) {
+            return BINARY;
+        }
+        return data[0] == OrderCreatedEnvelope.MARKER ? ENVELOPE : JSON;
+    }
+}
@@ -0,0 +1,217 @@
+package com.springboot.eventcontract.codec;
+
+import com.springboot.eventcontract.event.OrderCreated;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of {@link OrderCreated}.
+ * <pre>
+ * marker   1 byte, 0xC1 (can never start a JSON document)
+ * version  1 byte, bumped only for changes old readers cannot skip over
+ * fields   tag varint (field number &lt;&lt; 3 | wire type) followed by the value
+ *          wire type 0: varint, signed numbers zigzag-encoded
+ *          wire type 2: varint length + UTF-8 bytes
+ * </pre>
+ * Null fields are left out. Readers skip fields they do not know and leave fields that
+ * are missing null, so fields can be added (with new numbers) and dropped without
+ * coordinating producer and consumer deployments. Field numbers are never reused.
+ */
+public final class OrderCreatedCodec {
+
+    static final byte MARKER = (byte) 0xC1;
+    static final byte VERSION = 1;
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private static final int EVENT_ID = 1;
+    private static final int OCCURRED_AT_SECONDS = 2;
+    private static final int OCCURRED_AT_NANOS = 3;
+    private static final int ORDER_ID = 4;
+    private static final int CUSTOMER_EMAIL = 5;
+    private static final int PRODUCT_CODE = 6;
+    private static final int QUANTITY = 7;
+
+    private OrderCreatedCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static byte[] encode(OrderCreated event) {
+        Writer writer = new Writer();
+        writer.writeByte(MARKER);
+        writer.writeByte(VERSION);
+
+        writer.writeString(EVENT_ID, event.eventId());
+        if (event.occurredAt() != null) {
+            writer.writeSigned(OCCURRED_AT_SECONDS, event.occurredAt().getEpochSecond());
+            if (event.occurredAt().getNano() != 0) {
+                writer.writeSigned(OCCURRED_AT_NANOS, event.occurredAt().getNano());
+            }
+        }
+        if (event.orderId() != null) {
+            writer.writeSigned(ORDER_ID, event.orderId());
+        }
+        writer.writeString(CUSTOMER_EMAIL, event.customerEmail());
+        writer.writeString(PRODUCT_CODE, event.productCode());
+        if (event.quantity() != null) {
+            writer.writeSigned(QUANTITY, event.quantity());
+        }
+        return writer.toByteArray();
+    }
+
+    public static OrderCreated decode(byte[] data) {
+        if (data.length < 2 || data[0] != MARKER) {
+            throw new IllegalArgumentException("Not a binary OrderCreated value");
+        }
+        if (data[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported OrderCreated encoding version " + data[1]);
+        }
+
+        String eventId = null;
+        Long seconds = null;
+        long nanos = 0;
+        Long orderId = null;
+        String customerEmail = null;
+        String productCode = null;
+        Integer quantity = null;
+
+        Reader reader = new Reader(data, 2);
+        while (reader.hasMore()) {
+            long tag = reader.readVarint();
+            int field = (int) (tag >>> 3);
+            int wireType = (int) (tag & 0x7);
+            switch (field) {
+                case EVENT_ID -> eventId = reader.readString(wireType);
+                case OCCURRED_AT_SECONDS -> seconds = reader.readSigned(wireType);
+                case OCCURRED_AT_NANOS -> nanos = reader.readSigned(wireType);
+                case ORDER_ID -> orderId = reader.readSigned(wireType);
+                case CUSTOMER_EMAIL -> customerEmail = reader.readString(wireType);
+                case PRODUCT_CODE -> productCode = reader.readString(wireType);
+                case QUANTITY -> quantity = Math.toIntExact(reader.readSigned(wireType));
+                default -> reader.skip(wireType);
+            }
+        }
+
+        Instant occurredAt = seconds != null ? Instant.ofEpochSecond(seconds, nanos) : null;
+        return new OrderCreated(eventId, occurredAt, orderId, customerEmail, productCode, quantity);
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeSigned(int field, long value) {
+            writeVarint((long) field << 3 | VARINT);
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeString(int field, String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint((long) field << 3 | LENGTH_DELIMITED);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        private boolean hasMore() {
+            return position < data.length;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Truncated OrderCreated value");
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in OrderCreated value");
+        }
+
+        private long readSigned(int wireType) {
+            expect(wireType, VARINT);
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private String readString(int wireType) {
+            expect(wireType, LENGTH_DELIMITED);
+            int length = readLength();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void skip(int wireType) {
+            switch (wireType) {
+                case VARINT -> readVarint();
+                case LENGTH_DELIMITED -> {
+                    int length = readLength();
+                    position += length;
+                }
+                default -> throw new IllegalArgumentException("Unknown wire type " + wireType + " in OrderCreated value");
+            }
+        }
+
+        private int readLength() {
+            long length = readVarint();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Truncated OrderCreated value");
+            }
+            return (int) length;
+        }
+
+        private static void expect(int wireType, int expected) {
+            if (wireType != expected) {
+                throw new IllegalArgumentException("Unexpected wire type " + wireType + " in OrderCreated value");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.springboot.eventcontract.codec;
+
+import com.springboot.eventcontract.event.OrderCreated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packs several already encoded {@link OrderCreated} values into one record value.
+ * <pre>
+ * marker   1 byte, 0xC2
+ * version  1 byte
+ * index    varint entry count, then one varint length per entry
+ * entries  the encoded events back to back, each JSON or binary on its own
+ * </pre>
+ * The index up front lets a reader size the result and find every entry without
+ * parsing the ones before it.
+ */
+public final class OrderCreatedEnvelope {
+
+    static final byte MARKER = (byte) 0xC2;
+    static final byte VERSION = 1;
+
+    private OrderCreatedEnvelope() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static byte[] pack(List<byte[]> entries) {
+        int size = 2 + varintSize(entries.size());
+        for (byte[] entry : entries) {
+            size += varintSize(entry.length) + entry.length;
+        }
+
+        byte[] envelope = new byte[size];
+        envelope[0] = MARKER;
+        envelope[1] = VERSION;
+        int position = writeVarint(envelope, 2, entries.size());
+        for (byte[] entry : entries) {
+            position = writeVarint(envelope, position, entry.length);
+        }
+        for (byte[] entry : entries) {
+            System.arraycopy(entry, 0, envelope, position, entry.length);
+            position += entry.length;
+        }
+        return envelope;
+    }
+
+    public static List<OrderCreated> unpack(byte[] envelope) {
+        if (envelope.length < 3 || envelope[0] != MARKER) {
+            throw new IllegalArgumentException("Not an OrderCreated envelope");
+        }
+        if (envelope[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported OrderCreated envelope version " + envelope[1]);
+        }
+
+        int[] position = {2};
+        int count = readLength(envelope, position);
+        if (count > envelope.length) {
+            throw new IllegalArgumentException("Malformed OrderCreated envelope index");
+        }
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = readLength(envelope, position);
+        }
+
+        List<OrderCreated> events = new ArrayList<>(count);
+        int offset = position[0];
+        for (int length : lengths) {
+            if (length > envelope.length - offset) {
+                throw new IllegalArgumentException("Truncated OrderCreated envelope");
+            }
+            byte[] entry = Arrays.copyOfRange(envelope, offset, offset + length);
+            events.add(EventContentType.detect(entry) == EventContentType.BINARY
+                    ? OrderCreatedCodec.decode(entry)
+                    : OrderCreatedJson.decode(entry));
+            offset += length;
+        }
+        return events;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readLength(byte[] buffer, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= buffer.length) {
+                throw new IllegalArgumentException("Truncated OrderCreated envelope");
+            }
+            byte b = buffer[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed length in OrderCreated envelope");
+    }
+}
@@ -0,0 +1,45 @@
+package com.springboot.eventcontract.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.springboot.eventcontract.event.OrderCreated;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The JSON form of {@link OrderCreated}, byte for byte what spring-kafka's
+ * {@code JsonSerializer} wrote before the binary codec existed: {@code occurredAt} is a
+ * numeric epoch-seconds timestamp, not an ISO-8601 string. Outbox payloads are written
+ * here too, so publishing them unchanged keeps that wire form. Both timestamp forms are
+ * read, and unknown properties are ignored so either side can add fields.
+ */
+public final class OrderCreatedJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private OrderCreatedJson() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static byte[] encode(OrderCreated event) {
+        try {
+            return MAPPER.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write OrderCreated as JSON", e);
+        }
+    }
+
+    public static OrderCreated decode(byte[] data) {
+        try {
+            return MAPPER.readValue(data, OrderCreated.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read OrderCreated from JSON", e);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package com.springboot.orderservice.dto.event;
+package com.springboot.eventcontract.event;
 
 import java.time.Instant;
 
@@ -9,4 +9,4 @@ public record OrderCreated(
         String customerEmail,
         String productCode,
         Integer quantity
-) {}
\ No newline at end of file
+) {}
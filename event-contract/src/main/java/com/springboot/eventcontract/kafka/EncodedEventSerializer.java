@@ -0,0 +1,29 @@
+package com.springboot.eventcontract.kafka;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends values that were encoded ahead of time (outbox payloads) unchanged and adds the
+ * content-type header matching their format.
+ */
+public class EncodedEventSerializer implements Serializer<byte[]> {
+
+    @Override
+    public byte[] serialize(String topic, byte[] data) {
+        return data;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, byte[] data) {
+        if (data != null) {
+            headers.remove(EventContentType.HEADER);
+            headers.add(EventContentType.HEADER,
+                    EventContentType.detect(data).mimeType().getBytes(StandardCharsets.UTF_8));
+        }
+        return data;
+    }
+}
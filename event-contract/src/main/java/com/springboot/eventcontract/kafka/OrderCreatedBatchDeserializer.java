@@ -0,0 +1,39 @@
+package com.springboot.eventcontract.kafka;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedEnvelope;
+import com.springboot.eventcontract.event.OrderCreated;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.List;
+
+/**
+ * Reads every {@link OrderCreated} a record carries: all events of an envelope, or the
+ * single event of a plain JSON or binary record. Lets consumers accept envelopes and
+ * single-event records from the same topic.
+ */
+public class OrderCreatedBatchDeserializer implements Deserializer<List<OrderCreated>> {
+
+    @Override
+    public List<OrderCreated> deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public List<OrderCreated> deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        EventContentType contentType = OrderCreatedDeserializer.contentType(headers, data);
+        if (contentType != EventContentType.ENVELOPE) {
+            return List.of(OrderCreatedDeserializer.decode(contentType, data));
+        }
+        try {
+            return OrderCreatedEnvelope.unpack(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not read OrderCreated envelope", e);
+        }
+    }
+}
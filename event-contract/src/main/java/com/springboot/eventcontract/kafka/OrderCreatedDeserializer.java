@@ -0,0 +1,59 @@
+package com.springboot.eventcontract.kafka;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedCodec;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads {@link OrderCreated} in whichever format the content-type header names. Records
+ * without the header (written before it existed) are recognised by their first byte.
+ * Envelopes hold several events and need {@link OrderCreatedBatchDeserializer}.
+ */
+public class OrderCreatedDeserializer implements Deserializer<OrderCreated> {
+
+    @Override
+    public OrderCreated deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public OrderCreated deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        EventContentType contentType = contentType(headers, data);
+        if (contentType == EventContentType.ENVELOPE) {
+            throw new SerializationException("OrderCreated envelope on " + topic + " needs OrderCreatedBatchDeserializer");
+        }
+        return decode(contentType, data);
+    }
+
+    static EventContentType contentType(Headers headers, byte[] data) {
+        Header header = headers != null ? headers.lastHeader(EventContentType.HEADER) : null;
+        if (header == null) {
+            return EventContentType.detect(data);
+        }
+        try {
+            return EventContentType.fromMimeType(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+
+    static OrderCreated decode(EventContentType contentType, byte[] data) {
+        try {
+            return contentType == EventContentType.BINARY
+                    ? OrderCreatedCodec.decode(data)
+                    : OrderCreatedJson.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not read " + contentType + " OrderCreated value", e);
+        }
+    }
+}
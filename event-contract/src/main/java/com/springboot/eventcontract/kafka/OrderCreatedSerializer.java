@@ -0,0 +1,50 @@
+package com.springboot.eventcontract.kafka;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedCodec;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes {@link OrderCreated} in the format named by {@value #CONTENT_TYPE_CONFIG}
+ * ({@code BINARY} by default) and records that format in the content-type header.
+ */
+public class OrderCreatedSerializer implements Serializer<OrderCreated> {
+
+    public static final String CONTENT_TYPE_CONFIG = "order-created.content-type";
+
+    private EventContentType contentType = EventContentType.BINARY;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(CONTENT_TYPE_CONFIG);
+        if (configured != null) {
+            contentType = EventContentType.valueOf(configured.toString().trim().toUpperCase());
+        }
+        if (contentType == EventContentType.ENVELOPE) {
+            throw new IllegalArgumentException("Envelopes are packed by the publisher, not by " + getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, OrderCreated data) {
+        if (data == null) {
+            return null;
+        }
+        return contentType == EventContentType.BINARY
+                ? OrderCreatedCodec.encode(data)
+                : OrderCreatedJson.encode(data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, OrderCreated data) {
+        headers.remove(EventContentType.HEADER);
+        headers.add(EventContentType.HEADER, contentType.mimeType().getBytes(StandardCharsets.UTF_8));
+        return serialize(topic, data);
+    }
+}
@@ -0,0 +1,65 @@
+package com.springboot.eventcontract.codec;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCreatedCodecTest {
+
+    private static final OrderCreated EVENT = new OrderCreated(
+            "0190b2c4-7d2e-7a31-8f4e-2b9c1d3e4f50",
+            Instant.parse("2026-03-01T10:15:30.123456Z"),
+            42L,
+            "customer@example.com",
+            "PROD-001",
+            3);
+
+    @Test
+    void encode_shouldRoundTrip() {
+        assertEquals(EVENT, OrderCreatedCodec.decode(OrderCreatedCodec.encode(EVENT)));
+    }
+
+    @Test
+    void encode_shouldLeaveOutNullFields() {
+        OrderCreated sparse = new OrderCreated("evt-1", null, null, null, "PROD-001", null);
+
+        assertEquals(sparse, OrderCreatedCodec.decode(OrderCreatedCodec.encode(sparse)));
+    }
+
+    @Test
+    void encode_shouldBeSmallerThanJson() {
+        byte[] binary = OrderCreatedCodec.encode(EVENT);
+        byte[] json = OrderCreatedJson.encode(EVENT);
+
+        assertTrue(binary.length < json.length * 2 / 3,
+                "binary " + binary.length + " bytes vs json " + json.length + " bytes");
+        assertEquals(EventContentType.BINARY, EventContentType.detect(binary));
+        assertEquals(EventContentType.JSON, EventContentType.detect(json));
+    }
+
+    @Test
+    void decode_shouldSkipFieldsAddedByNewerWriters() {
+        byte[] encoded = OrderCreatedCodec.encode(EVENT);
+        // field 15 as varint (300) and field 16 as string ("x"), whose tag takes two bytes
+        byte[] extra = {(byte) (15 << 3), (byte) 0xAC, 0x02, (byte) 0x82, 0x01, 1, 'x'};
+        byte[] extended = Arrays.copyOf(encoded, encoded.length + extra.length);
+        System.arraycopy(extra, 0, extended, encoded.length, extra.length);
+
+        assertEquals(EVENT, OrderCreatedCodec.decode(extended));
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedAndForeignData() {
+        byte[] encoded = OrderCreatedCodec.encode(EVENT);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCreatedCodec.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IllegalArgumentException.class, () -> OrderCreatedCodec.decode(OrderCreatedJson.encode(EVENT)));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCreatedCodec.decode(new byte[]{OrderCreatedCodec.MARKER, (byte) (OrderCreatedCodec.VERSION + 1)}));
+    }
+}
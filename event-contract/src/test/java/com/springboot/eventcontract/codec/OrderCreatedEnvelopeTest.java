@@ -0,0 +1,59 @@
+package com.springboot.eventcontract.codec;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCreatedEnvelopeTest {
+
+    @Test
+    void pack_shouldRoundTripEntriesInOrder() {
+        List<OrderCreated> events = new ArrayList<>();
+        List<byte[]> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            OrderCreated event = event(i);
+            events.add(event);
+            // mixed formats, and enough entries for multi-byte index varints
+            entries.add(i % 2 == 0 ? OrderCreatedCodec.encode(event) : OrderCreatedJson.encode(event));
+        }
+
+        byte[] envelope = OrderCreatedEnvelope.pack(entries);
+
+        assertEquals(EventContentType.ENVELOPE, EventContentType.detect(envelope));
+        assertEquals(events, OrderCreatedEnvelope.unpack(envelope));
+    }
+
+    @Test
+    void pack_shouldBeSmallerThanSeparateJsonRecords() {
+        List<byte[]> entries = new ArrayList<>();
+        int jsonBytes = 0;
+        for (int i = 0; i < 50; i++) {
+            entries.add(OrderCreatedCodec.encode(event(i)));
+            jsonBytes += OrderCreatedJson.encode(event(i)).length;
+        }
+
+        assertTrue(OrderCreatedEnvelope.pack(entries).length < jsonBytes / 2);
+    }
+
+    @Test
+    void unpack_shouldRejectTruncatedEnvelope() {
+        byte[] envelope = OrderCreatedEnvelope.pack(List.of(OrderCreatedCodec.encode(event(1)),
+                OrderCreatedCodec.encode(event(2))));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCreatedEnvelope.unpack(Arrays.copyOf(envelope, envelope.length - 5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderCreatedEnvelope.unpack(OrderCreatedCodec.encode(event(1))));
+    }
+
+    private static OrderCreated event(int i) {
+        return new OrderCreated("evt-" + i, Instant.parse("2026-03-01T10:15:30Z").plusMillis(i), 7L,
+                "customer@example.com", "PROD-" + i, i + 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.springboot.eventcontract.kafka;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedCodec;
+import com.springboot.eventcontract.codec.OrderCreatedEnvelope;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCreatedDeserializerTest {
+
+    private static final String TOPIC = "order-created-topic";
+    private static final OrderCreated EVENT = new OrderCreated(
+            "evt-1", Instant.parse("2026-03-01T10:15:30Z"), 42L, "customer@example.com", "PROD-001", 3);
+
+    private final OrderCreatedDeserializer deserializer = new OrderCreatedDeserializer();
+
+    @Test
+    void deserialize_shouldReadWhatTheSerializerWroteInEitherFormat() {
+        for (EventContentType contentType : List.of(EventContentType.JSON, EventContentType.BINARY)) {
+            OrderCreatedSerializer serializer = new OrderCreatedSerializer();
+            serializer.configure(Map.of(OrderCreatedSerializer.CONTENT_TYPE_CONFIG, contentType.name()), false);
+            Headers headers = new RecordHeaders();
+
+            byte[] data = serializer.serialize(TOPIC, headers, EVENT);
+
+            assertEquals(contentType.mimeType(),
+                    new String(headers.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8));
+            assertEquals(EVENT, deserializer.deserialize(TOPIC, headers, data));
+        }
+    }
+
+    @Test
+    void deserialize_shouldReadLegacyJsonWithoutHeader() {
+        byte[] legacy = """
+                {"eventId":"evt-1","occurredAt":"2026-03-01T10:15:30Z","orderId":42,
+                 "customerEmail":"customer@example.com","productCode":"PROD-001","quantity":3,"channel":"web"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(EVENT, deserializer.deserialize(TOPIC, new RecordHeaders(), legacy));
+    }
+
+    @Test
+    void encodedEventSerializer_shouldStampHeaderMatchingPreEncodedValue() {
+        EncodedEventSerializer serializer = new EncodedEventSerializer();
+        Headers headers = new RecordHeaders();
+        byte[] json = OrderCreatedJson.encode(EVENT);
+
+        assertSame(json, serializer.serialize(TOPIC, headers, json));
+        assertEquals(EventContentType.JSON.mimeType(),
+                new String(headers.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void batchDeserializer_shouldUnpackEnvelopesAndWrapSingleEvents() {
+        OrderCreated second = new OrderCreated(
+                "evt-2", Instant.parse("2026-03-01T10:15:31Z"), 42L, "customer@example.com", "PROD-002", 1);
+        byte[] envelope = OrderCreatedEnvelope.pack(List.of(OrderCreatedCodec.encode(EVENT), OrderCreatedCodec.encode(second)));
+        Headers headers = new RecordHeaders();
+        new EncodedEventSerializer().serialize(TOPIC, headers, envelope);
+        OrderCreatedBatchDeserializer batchDeserializer = new OrderCreatedBatchDeserializer();
+
+        assertEquals(List.of(EVENT, second), batchDeserializer.deserialize(TOPIC, headers, envelope));
+        assertEquals(List.of(EVENT), batchDeserializer.deserialize(TOPIC, new RecordHeaders(), OrderCreatedJson.encode(EVENT)));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, headers, envelope));
+    }
+
+    @Test
+    void deserialize_shouldRejectUnknownContentType() {
+        Headers headers = new RecordHeaders();
+        headers.add(EventContentType.HEADER, "application/avro".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, headers, OrderCreatedJson.encode(EVENT)));
+    }
+}
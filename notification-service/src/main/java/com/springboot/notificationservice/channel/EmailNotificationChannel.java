@@ -0,0 +1,30 @@
+package com.springboot.notificationservice.channel;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailNotificationChannel extends StubNotificationChannel {
+
+    @Value("${app.notification.channel.email.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.notification.channel.email.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public NotificationChannelEnum channel() {
+        return NotificationChannelEnum.EMAIL;
+    }
+
+    @Override
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    @Override
+    protected long latencyMs() {
+        return latencyMs;
+    }
+}
@@ -0,0 +1,30 @@
+package com.springboot.notificationservice.channel;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FcmNotificationChannel extends StubNotificationChannel {
+
+    @Value("${app.notification.channel.fcm.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${app.notification.channel.fcm.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public NotificationChannelEnum channel() {
+        return NotificationChannelEnum.FCM;
+    }
+
+    @Override
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    @Override
+    protected long latencyMs() {
+        return latencyMs;
+    }
+}
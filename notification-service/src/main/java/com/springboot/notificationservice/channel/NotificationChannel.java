@@ -0,0 +1,32 @@
+package com.springboot.notificationservice.channel;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.model.Notification;
+
+/**
+ * Delivers stored notifications over one channel (SMS, email, push, ...). Every
+ * implementation registered as a bean gets one notification row per consumed event and
+ * its own delivery worker and thread pool, so a slow provider only holds up its own
+ * channel.
+ */
+public interface NotificationChannel {
+
+    NotificationChannelEnum channel();
+
+    /**
+     * How long the dispatcher waits for {@link #send}; after that the attempt counts as
+     * failed. Implementations should set their client timeouts at or below this value,
+     * because the dispatcher cannot interrupt a remote call.
+     */
+    long timeoutMs();
+
+    /**
+     * Sends the notification.
+     *
+     * @return message stored with the notification
+     * @throws com.springboot.notificationservice.exception.ChannelRateLimitedException
+     * when the provider's quota is used up; the notification is deferred, not failed
+     * @throws Exception when the provider rejected or could not take the notification
+     */
+    String send(Notification notification) throws Exception;
+}
@@ -0,0 +1,24 @@
+package com.springboot.notificationservice.channel;
+
+import com.springboot.notificationservice.model.Notification;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in for a provider integration (e.g. Twilio for SMS, SendGrid for Email,
+ * Firebase for FCM): logs the notification and optionally sleeps to simulate the
+ * latency of the remote call.
+ */
+@Slf4j
+abstract class StubNotificationChannel implements NotificationChannel {
+
+    protected abstract long latencyMs();
+
+    @Override
+    public String send(Notification notification) throws InterruptedException {
+        log.info("Sending {} notification for eventId: {}", channel(), notification.getEventId());
+        if (latencyMs() > 0) {
+            Thread.sleep(latencyMs());
+        }
+        return channel() + " sent successfully";
+    }
+}
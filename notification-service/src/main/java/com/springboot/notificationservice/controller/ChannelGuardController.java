@@ -0,0 +1,30 @@
+package com.springboot.notificationservice.controller;
+
+import com.springboot.notificationservice.dto.ApiResponse;
+import com.springboot.notificationservice.dto.ChannelGuardStats;
+import com.springboot.notificationservice.service.ChannelGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/channels")
+@RequiredArgsConstructor
+@Slf4j
+public class ChannelGuardController {
+
+    private final ChannelGuard channelGuard;
+
+    @GetMapping("/guards")
+    public ResponseEntity<ApiResponse<List<ChannelGuardStats>>> getGuardStats() {
+        log.info("GET /api/v1/channels/guards - Fetching channel rate limit, bulkhead and circuit stats");
+        return ResponseEntity.ok(
+                ApiResponse.success("Channel guard stats fetched successfully", channelGuard.getStats())
+        );
+    }
+}
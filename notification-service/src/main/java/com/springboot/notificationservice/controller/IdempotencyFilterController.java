@@ -0,0 +1,28 @@
+package com.springboot.notificationservice.controller;
+
+import com.springboot.notificationservice.dto.ApiResponse;
+import com.springboot.notificationservice.dto.RecentEventIdFilterStats;
+import com.springboot.notificationservice.service.RecentEventIdFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/idempotency")
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilterController {
+
+    private final RecentEventIdFilter recentEventIdFilter;
+
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<RecentEventIdFilterStats>> getFilterStats() {
+        log.info("GET /api/v1/idempotency/filter - Fetching recent event id filter stats");
+        return ResponseEntity.ok(
+                ApiResponse.success("Idempotency filter stats fetched successfully", recentEventIdFilter.getStats())
+        );
+    }
+}
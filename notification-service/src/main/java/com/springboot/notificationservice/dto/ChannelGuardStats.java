@@ -0,0 +1,50 @@
+package com.springboot.notificationservice.dto;
+
+import com.springboot.notificationservice.service.ChannelCircuitBreaker;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ChannelGuardStats {
+
+    private NotificationChannelEnum channel;
+
+    // 0 when the channel is not rate limited
+    private double ratePerSecond;
+
+    private int burst;
+
+    private double availableTokens;
+
+    private int maxConcurrent;
+
+    private int inFlight;
+
+    // PENDING notifications of the channel, due now or later
+    private long queued;
+
+    private long admitted;
+
+    // sends that had to wait for a token
+    private long throttled;
+
+    private long throttledWaitMs;
+
+    // sends deferred without calling the provider
+    private long rejectedCircuitOpen;
+
+    private long rejectedBulkheadFull;
+
+    // sends the provider turned down for quota reasons, deferred by its retry-after
+    private long rateLimited;
+
+    private long failures;
+
+    // delivery rounds in which nothing was claimed because the circuit was open
+    private long claimsSkipped;
+
+    private ChannelCircuitBreaker.State circuitState;
+
+    private long circuitOpenings;
+}
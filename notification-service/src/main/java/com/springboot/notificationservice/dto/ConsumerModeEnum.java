@@ -0,0 +1,10 @@
+package com.springboot.notificationservice.dto;
+
+public enum ConsumerModeEnum {
+    // one listener call and one transaction per record
+    RECORD,
+    // the whole poll in one listener call and one multi-row insert-ignore
+    BATCH,
+    // records of a partition fanned out to key-ordered lanes, committed by contiguous prefix
+    PARALLEL
+}
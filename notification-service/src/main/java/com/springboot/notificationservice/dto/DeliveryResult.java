@@ -0,0 +1,21 @@
+package com.springboot.notificationservice.dto;
+
+/**
+ * Outcome of one delivery attempt of a stored notification. A deferred notification was
+ * not sent (circuit open, bulkhead full or provider quota exceeded) and is tried again
+ * after {@code deferredMs} without counting as an attempt.
+ */
+public record DeliveryResult(Long notificationId, boolean delivered, String message, long deferredMs) {
+
+    public DeliveryResult(Long notificationId, boolean delivered, String message) {
+        this(notificationId, delivered, message, 0);
+    }
+
+    public static DeliveryResult deferred(Long notificationId, String message, long deferredMs) {
+        return new DeliveryResult(notificationId, false, message, Math.max(deferredMs, 1));
+    }
+
+    public boolean deferred() {
+        return deferredMs > 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.springboot.notificationservice.dto;
+
+public enum NotificationChannelEnum {
+    SMS,
+    EMAIL,
+    FCM
+}
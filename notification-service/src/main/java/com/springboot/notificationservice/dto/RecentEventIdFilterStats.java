@@ -0,0 +1,43 @@
+package com.springboot.notificationservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class RecentEventIdFilterStats {
+
+    private boolean enabled;
+
+    private long checks;
+
+    // answered "definitely new" by the Bloom filter, no database round trip
+    private long definitelyNew;
+
+    // found in the exact recent-id cache, skipped without a database round trip
+    private long recentDuplicates;
+
+    // possible Bloom hits that had to be checked against the database
+    private long databaseFallbacks;
+
+    private long confirmedDuplicates;
+
+    private long falsePositives;
+
+    // share of new events that still cost a database lookup
+    private double falsePositiveRate;
+
+    private int bloomGenerations;
+
+    private long bloomBitsPerGeneration;
+
+    private int bloomHashFunctions;
+
+    private long bloomMemoryBytes;
+
+    private int currentGenerationInsertions;
+
+    private int recentCacheSize;
+
+    private int recentCacheCapacity;
+}
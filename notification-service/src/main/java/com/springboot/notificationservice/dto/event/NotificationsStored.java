@@ -0,0 +1,14 @@
+package com.springboot.notificationservice.dto.event;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that stored the notifications of these events;
+ * listeners use it after commit, when the rows are visible to other consumers.
+ */
+public record NotificationsStored(List<String> eventIds) {
+
+    public static NotificationsStored of(List<String> eventIds) {
+        return new NotificationsStored(List.copyOf(eventIds));
+    }
+}
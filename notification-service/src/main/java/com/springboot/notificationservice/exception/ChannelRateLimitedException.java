@@ -0,0 +1,19 @@
+package com.springboot.notificationservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown by a {@link com.springboot.notificationservice.channel.NotificationChannel} when
+ * the provider rejected a send because its quota is used up (HTTP 429 or similar). The
+ * notification is sent again after {@code retryAfterMs} without spending an attempt.
+ */
+@Getter
+public class ChannelRateLimitedException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public ChannelRateLimitedException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+}
@@ -0,0 +1,64 @@
+package com.springboot.notificationservice.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes chosen by key, so tasks with the same
+ * key run one after another in submission order while different keys run in parallel.
+ * Each lane has a bounded queue; when it is full {@link #execute} blocks, which holds the
+ * consumer back instead of buffering a whole backlog in memory.
+ */
+public class KeyOrderedExecutor {
+
+    private final List<ThreadPoolExecutor> lanes;
+
+    public KeyOrderedExecutor(String name, int laneCount, int queueCapacity) {
+        lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-" + i;
+            lanes.add(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException(threadName + " is shut down");
+                        }
+                        try {
+                            executor.getQueue().put(runnable);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while waiting for " + threadName, e);
+                        }
+                    }));
+        }
+    }
+
+    public void execute(Object key, Runnable task) {
+        lanes.get(Math.floorMod(key == null ? 0 : key.hashCode(), lanes.size())).execute(task);
+    }
+
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    public void shutdown(long timeoutMs) {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.springboot.notificationservice.listener;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "BATCH")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderCreatedBatchListener {
+
+    private final NotificationService notificationService;
+
+    @KafkaListener(
+            topics = "${app.kafka.topic.order-created}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleOrderCreatedBatch(List<ConsumerRecord<String, List<OrderCreated>>> consumerRecords) {
+        // Offsets of the whole poll are committed only after the listener returns; if the
+        // batch fails it is redelivered and notifications already stored are skipped by the
+        // insert-ignore on (event_id, channel).
+        List<OrderCreated> events = new ArrayList<>();
+        for (ConsumerRecord<String, List<OrderCreated>> consumerRecord : consumerRecords) {
+            events.addAll(consumerRecord.value());
+        }
+        log.info("Received batch of {} records with {} OrderCreated events", consumerRecords.size(), events.size());
+
+        notificationService.processOrderCreatedBatch(events);
+    }
+}
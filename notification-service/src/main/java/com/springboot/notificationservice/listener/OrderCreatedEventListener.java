@@ -1,14 +1,18 @@
 package com.springboot.notificationservice.listener;
 
-import com.springboot.notificationservice.dto.event.OrderCreated;
+import com.springboot.eventcontract.event.OrderCreated;
 import com.springboot.notificationservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "RECORD", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class OrderCreatedEventListener {
@@ -19,12 +23,21 @@ public class OrderCreatedEventListener {
             topics = "${app.kafka.topic.order-created}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void handleOrderCreated(ConsumerRecord<String, OrderCreated> orderCreatedEventConsumerRecord) {
-        OrderCreated orderCreated = orderCreatedEventConsumerRecord.value();
+    public void handleOrderCreated(ConsumerRecord<String, List<OrderCreated>> orderCreatedEventConsumerRecord) {
+        // One event, or all events of an envelope. The offset is committed only after the
+        // listener returns; if an event fails the whole record is redelivered and events
+        // already handled are skipped by the idempotency check.
+        List<OrderCreated> events = orderCreatedEventConsumerRecord.value();
+        if (events.size() > 1) {
+            log.info("Received envelope with {} OrderCreated events at offset {}",
+                    events.size(), orderCreatedEventConsumerRecord.offset());
+        }
 
-        log.info("Received OrderCreated event: {}", orderCreated.eventId());
-        log.debug("Event details: {}", orderCreated);
+        for (OrderCreated orderCreated : events) {
+            log.info("Received OrderCreated event: {}", orderCreated.eventId());
+            log.debug("Event details: {}", orderCreated);
 
-        notificationService.processOrderCreated(orderCreated);
+            notificationService.processOrderCreated(orderCreated);
+        }
     }
 }
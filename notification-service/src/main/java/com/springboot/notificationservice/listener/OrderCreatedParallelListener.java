@@ -0,0 +1,121 @@
+package com.springboot.notificationservice.listener;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Processes the records of a partition in parallel instead of one at a time, so
+ * throughput scales with {@code lanes} rather than with the partition count of the topic.
+ * <p>
+ * Records are handed to a lane chosen by key (the order id), so events of one order are
+ * still processed in order. Offsets are acknowledged through a
+ * {@link PartitionOffsetTracker}: only the contiguous prefix of completed records is
+ * committed, so a crash or rebalance redelivers every record that had not finished and
+ * the idempotent processing skips those that had.
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "PARALLEL")
+@Slf4j
+public class OrderCreatedParallelListener implements ConsumerSeekAware {
+
+    private final NotificationService notificationService;
+    private final PartitionOffsetTracker<Acknowledgment> offsetTracker = new PartitionOffsetTracker<>();
+
+    @Value("${app.kafka.consumer.parallel.lanes:16}")
+    private int laneCount;
+
+    @Value("${app.kafka.consumer.parallel.lane-queue-capacity:100}")
+    private int laneQueueCapacity;
+
+    @Value("${app.kafka.consumer.parallel.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.kafka.consumer.parallel.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    private KeyOrderedExecutor lanes;
+
+    public OrderCreatedParallelListener(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @PostConstruct
+    public void start() {
+        lanes = new KeyOrderedExecutor("order-created-lane", laneCount, laneQueueCapacity);
+        log.info("Parallel OrderCreated consumer started with {} lanes", laneCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        lanes.shutdown(10_000);
+    }
+
+    @KafkaListener(
+            topics = "${app.kafka.topic.order-created}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void handleOrderCreated(ConsumerRecord<String, List<OrderCreated>> consumerRecord,
+                                   Acknowledgment acknowledgment) {
+        TopicPartition partition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+        offsetTracker.register(partition, consumerRecord.offset(), acknowledgment);
+
+        // blocks while the lane is full, which holds back the next poll
+        lanes.execute(consumerRecord.key(), () -> {
+            process(consumerRecord);
+            Acknowledgment committable = offsetTracker.complete(partition, consumerRecord.offset());
+            if (committable != null) {
+                // acks from lane threads are queued and committed by the consumer thread
+                committable.acknowledge();
+            }
+        });
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        // records still running for these partitions are redelivered to the new owner
+        partitions.forEach(offsetTracker::revoke);
+    }
+
+    private void process(ConsumerRecord<String, List<OrderCreated>> consumerRecord) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                for (OrderCreated orderCreated : consumerRecord.value()) {
+                    log.debug("Received OrderCreated event: {}", orderCreated.eventId());
+                    notificationService.processOrderCreated(orderCreated);
+                }
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    // like the default error handler: give up on the record so the partition moves on
+                    log.error("Giving up on record {}-{}@{} after {} attempts: {}", consumerRecord.topic(),
+                            consumerRecord.partition(), consumerRecord.offset(), attempt, e.getMessage(), e);
+                    return;
+                }
+                log.warn("Processing record {}-{}@{} failed (attempt {}), retrying: {}", consumerRecord.topic(),
+                        consumerRecord.partition(), consumerRecord.offset(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs);
+                } catch (InterruptedException interrupted) {
+                    // shutting down: leave the record uncommitted so it is redelivered
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while retrying record", interrupted);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.springboot.notificationservice.listener;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tracks records of each partition that were handed out for parallel processing and
+ * finish out of order. {@link #complete} reports the highest offset below which every
+ * record has completed, so only that contiguous prefix is committed; a record that is
+ * still running holds back the commit of later, already finished ones, and after a crash
+ * or rebalance everything from the first unfinished record is delivered again.
+ *
+ * @param <T> handle kept with each offset, returned when that offset becomes committable
+ */
+public class PartitionOffsetTracker<T> {
+
+    private final Map<TopicPartition, PartitionState<T>> partitions = new HashMap<>();
+
+    /**
+     * Registers a record in poll order.
+     */
+    public synchronized void register(TopicPartition partition, long offset, T handle) {
+        PartitionState<T> state = partitions.computeIfAbsent(partition, p -> new PartitionState<>());
+        if (!state.inFlight.isEmpty() && offset <= state.inFlight.peekLast()) {
+            // the consumer was repositioned: earlier registrations will be redelivered anyway
+            state.clear();
+        }
+        state.inFlight.addLast(offset);
+        state.handles.put(offset, handle);
+    }
+
+    /**
+     * Marks a record as completed.
+     *
+     * @return handle of the new end of the completed prefix, or {@code null} when the
+     * prefix did not move (an earlier record is still running)
+     */
+    public synchronized T complete(TopicPartition partition, long offset) {
+        PartitionState<T> state = partitions.get(partition);
+        if (state == null || !state.handles.containsKey(offset)) {
+            // partition revoked or repositioned meanwhile
+            return null;
+        }
+        state.completed.add(offset);
+
+        Long prefixEnd = null;
+        while (!state.inFlight.isEmpty() && state.completed.remove(state.inFlight.peekFirst())) {
+            prefixEnd = state.inFlight.pollFirst();
+        }
+        if (prefixEnd == null) {
+            return null;
+        }
+        T handle = state.handles.get(prefixEnd);
+        state.handles.headMap(prefixEnd, true).clear();
+        return handle;
+    }
+
+    public synchronized void revoke(TopicPartition partition) {
+        partitions.remove(partition);
+    }
+
+    public synchronized int inFlight(TopicPartition partition) {
+        PartitionState<T> state = partitions.get(partition);
+        return state == null ? 0 : state.inFlight.size();
+    }
+
+    /**
+     * Records that completed but cannot be committed yet because an earlier record of the
+     * partition is still running.
+     */
+    public synchronized int completedAhead(TopicPartition partition) {
+        PartitionState<T> state = partitions.get(partition);
+        return state == null ? 0 : state.completed.size();
+    }
+
+    private static final class PartitionState<T> {
+
+        private final Deque<Long> inFlight = new ArrayDeque<>();
+        private final Set<Long> completed = new HashSet<>();
+        private final NavigableMap<Long, T> handles = new TreeMap<>();
+
+        private void clear() {
+            inFlight.clear();
+            completed.clear();
+            handles.clear();
+        }
+    }
+}
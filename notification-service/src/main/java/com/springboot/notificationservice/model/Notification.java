@@ -1,5 +1,7 @@
 package com.springboot.notificationservice.model;
 
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
 import com.springboot.notificationservice.dto.NotificationTypeEnum;
 import jakarta.persistence.*;
 import lombok.*;
@@ -13,7 +15,14 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table
+@Table(name = "notification",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_notification_event_channel", columnNames = {"event_id", "channel"})
+        },
+        indexes = {
+                @Index(name = "idx_notification_order_id", columnList = "order_id"),
+                @Index(name = "idx_notification_delivery", columnList = "status, channel, next_attempt_at")
+        })
 public class Notification {
 
     @Id
@@ -32,9 +41,25 @@ public class Notification {
     @Enumerated(EnumType.STRING)
     private NotificationTypeEnum type = NotificationTypeEnum.ORDER_CREATED;
 
+    @Column(name = "channel", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private NotificationChannelEnum channel;
+
     @Column(name = "delivered")
     private Boolean delivered;
 
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatusEnum status = DeliveryStatusEnum.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
     @Column(name = "message")
     private String message;
 
@@ -42,6 +67,6 @@ public class Notification {
     @CreationTimestamp
     private Instant createdAt;
 
-    @Column(name = "event_id")
+    @Column(name = "event_id", nullable = false)
     private String eventId;
 }
\ No newline at end of file
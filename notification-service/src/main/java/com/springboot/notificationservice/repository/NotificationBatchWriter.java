@@ -0,0 +1,137 @@
+package com.springboot.notificationservice.repository;
+
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts notifications as multi-row {@code INSERT IGNORE} statements. With IDENTITY keys
+ * Hibernate has to insert entities one statement at a time, and a duplicate would abort
+ * the transaction; here rows that hit the unique (event_id, channel) key are skipped and
+ * the affected row count tells how many were actually new. Delivery outcomes are written
+ * as JDBC batches. Joins the surrounding transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchWriter {
+
+    // keeps each statement well below MySQL's placeholder and packet limits
+    static final int ROWS_PER_STATEMENT = 500;
+
+    static final int COLUMNS_PER_ROW = 10;
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO notification "
+            + "(order_id, email, type, channel, delivered, message, event_id, created_at, status, attempts, next_attempt_at) VALUES ";
+    // new rows are due right away, by the database clock the delivery claim uses
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(6))";
+
+    private static final String DELIVERED_SQL = """
+            UPDATE notification
+            SET status = 'DELIVERED', delivered = TRUE, message = ?, attempts = attempts + 1, next_attempt_at = NULL
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    // The n-th failed attempt waits base-delay * 2^(n-1), capped at max-delay and cut to a
+    // random 50-100% so a provider outage does not bring a whole batch back at once. The
+    // delay reads attempts before the increment and the FAILED check reads it after:
+    // single-table UPDATEs in MySQL assign in the order written, so the order matters.
+    private static final String FAILED_SQL = """
+            UPDATE notification
+            SET message = ?,
+                next_attempt_at = DATE_ADD(NOW(6), INTERVAL FLOOR(
+                    LEAST(?, ? * POW(2, attempts)) * (0.5 + RAND() / 2) * 1000
+                ) MICROSECOND),
+                attempts = attempts + 1,
+                status = IF(attempts >= ?, 'FAILED', 'PENDING')
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    // not sent at all (circuit open, bulkhead full, provider quota), so no attempt is spent
+    private static final String DEFERRED_SQL = """
+            UPDATE notification
+            SET message = ?, next_attempt_at = DATE_ADD(NOW(6), INTERVAL ? * 1000 MICROSECOND)
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return number of rows inserted; notifications whose (event, channel) already
+     * exists are not counted
+     */
+    public int insertAll(List<Notification> notifications) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int inserted = 0;
+        for (int from = 0; from < notifications.size(); from += ROWS_PER_STATEMENT) {
+            List<Notification> chunk = notifications.subList(from, Math.min(from + ROWS_PER_STATEMENT, notifications.size()));
+            inserted += insertChunk(chunk, now);
+        }
+        return inserted;
+    }
+
+    private int insertChunk(List<Notification> chunk, Timestamp now) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL);
+        List<Object> args = new ArrayList<>(chunk.size() * COLUMNS_PER_ROW);
+        for (Notification notification : chunk) {
+            if (args.size() > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            args.add(notification.getOrderId());
+            args.add(notification.getEmail());
+            args.add(notification.getType().name());
+            args.add(notification.getChannel().name());
+            args.add(notification.getDelivered());
+            args.add(notification.getMessage());
+            args.add(notification.getEventId());
+            args.add(notification.getCreatedAt() != null
+                    ? Timestamp.from(notification.getCreatedAt())
+                    : now);
+            args.add(notification.getStatus().name());
+            args.add(notification.getAttempts());
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Writes the outcome of delivery attempts. Delivered notifications are final; failed
+     * ones are scheduled for another attempt, or marked FAILED after {@code maxAttempts};
+     * deferred ones are due again after their delay with the attempt count unchanged.
+     * Rows that are no longer PENDING are left alone.
+     */
+    public void recordOutcomes(List<DeliveryResult> results, int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        List<DeliveryResult> delivered = results.stream().filter(DeliveryResult::delivered).toList();
+        List<DeliveryResult> failed = results.stream().filter(result -> !result.delivered() && !result.deferred()).toList();
+        List<DeliveryResult> deferred = results.stream().filter(DeliveryResult::deferred).toList();
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELIVERED_SQL, delivered, delivered.size(), (statement, result) -> {
+                statement.setString(1, result.message());
+                statement.setLong(2, result.notificationId());
+            });
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(FAILED_SQL, failed, failed.size(), (statement, result) -> {
+                statement.setString(1, result.message());
+                statement.setLong(2, maxDelayMs);
+                statement.setLong(3, baseDelayMs);
+                statement.setInt(4, maxAttempts);
+                statement.setLong(5, result.notificationId());
+            });
+        }
+        if (!deferred.isEmpty()) {
+            jdbcTemplate.batchUpdate(DEFERRED_SQL, deferred, deferred.size(), (statement, result) -> {
+                statement.setString(1, result.message());
+                statement.setLong(2, result.deferredMs());
+                statement.setLong(3, result.notificationId());
+            });
+        }
+    }
+}
@@ -1,14 +1,45 @@
 package com.springboot.notificationservice.repository;
 
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
 import com.springboot.notificationservice.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    boolean existsByEventId(String eventId);
+    @Query("SELECT DISTINCT n.eventId FROM Notification n WHERE n.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
 
     Optional<List<Notification>> findByOrderId(Long orderId);
+
+    long countByChannelAndStatus(NotificationChannelEnum channel, DeliveryStatusEnum status);
+
+    // Database clock throughout, so instances with skewed clocks agree on what is due
+    @Query(value = """
+        SELECT *
+        FROM notification
+        WHERE status = 'PENDING'
+          AND channel = :channel
+          AND next_attempt_at <= NOW(6)
+        ORDER BY next_attempt_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Notification> findDueForUpdate(@Param("channel") String channel, @Param("limit") int limit);
+
+    // Keeps claimed rows away from other workers until the lease ends; afterwards they are due again
+    @Modifying
+    @Query(value = """
+        UPDATE notification
+        SET next_attempt_at = DATE_ADD(NOW(6), INTERVAL :leaseMs * 1000 MICROSECOND)
+        WHERE id IN (:ids)
+        """, nativeQuery = true)
+    int leaseUntil(@Param("ids") Collection<Long> ids, @Param("leaseMs") long leaseMs);
 }
@@ -0,0 +1,95 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker of one notification channel, as in the order-service outbox.
+ * <p>
+ * After {@code failureThreshold} consecutive failed sends the breaker opens: the delivery
+ * worker claims nothing and sends still in the current batch fail fast, so the rows stay
+ * PENDING without spending attempts. Once the open period has passed one notification is
+ * claimed as a probe in HALF_OPEN state; if it is delivered the breaker closes, otherwise
+ * it reopens with a doubled open period up to {@code maxOpenMs}.
+ */
+@Slf4j
+public class ChannelCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final NotificationChannelEnum channel;
+    private final int failureThreshold;
+    private final long initialOpenMs;
+    private final long maxOpenMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openMs;
+    private long openUntilMillis;
+    private long openings;
+
+    public ChannelCircuitBreaker(NotificationChannelEnum channel, int failureThreshold, long initialOpenMs, long maxOpenMs) {
+        this.channel = channel;
+        this.failureThreshold = failureThreshold;
+        this.initialOpenMs = initialOpenMs;
+        this.maxOpenMs = maxOpenMs;
+        this.openMs = initialOpenMs;
+    }
+
+    /**
+     * Whether the delivery worker may claim notifications now. Moves an OPEN breaker whose
+     * open period has passed to HALF_OPEN.
+     */
+    public synchronized boolean allowClaim() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() < openUntilMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            log.info("{} circuit half-open, probing the provider", channel);
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            openMs = initialOpenMs;
+            log.info("{} provider reachable again, delivery resumed", channel);
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            open(Math.min(openMs * 2, maxOpenMs));
+        } else if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open(initialOpenMs);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long remainingOpenMs() {
+        return state == State.OPEN ? Math.max(openUntilMillis - System.currentTimeMillis(), 0) : 0;
+    }
+
+    public synchronized long getOpenings() {
+        return openings;
+    }
+
+    private void open(long durationMs) {
+        openMs = durationMs;
+        openUntilMillis = System.currentTimeMillis() + durationMs;
+        state = State.OPEN;
+        openings++;
+        log.warn("{} provider failing, delivery paused for {} ms", channel, durationMs);
+    }
+}
@@ -0,0 +1,220 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.ChannelGuardStats;
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Protects each provider with a rate limiter, a bulkhead and a circuit breaker, configured
+ * per channel under {@code app.notification.channel.<channel>}:
+ * <ul>
+ *     <li>{@code rate-per-second} and {@code burst}: a {@link TokenBucket} paces the
+ *     sends at the provider's quota; the delivery worker waits for a token before each
+ *     send. 0 leaves the channel unlimited.</li>
+ *     <li>{@code max-concurrent}: at most this many calls to the provider at a time,
+ *     counted until the call returns rather than until it times out, so a hanging
+ *     provider cannot pile up calls.</li>
+ *     <li>{@code app.notification.circuit-breaker}: see {@link ChannelCircuitBreaker}.</li>
+ * </ul>
+ * Sends that are not admitted are deferred: their rows stay PENDING and are claimed again
+ * later without spending an attempt.
+ */
+@Component
+@Slf4j
+public class ChannelGuard {
+
+    public enum Admission {
+        ADMITTED,
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final Environment environment;
+    private final NotificationRepository notificationRepository;
+    private final Map<NotificationChannelEnum, Guard> guards = new EnumMap<>(NotificationChannelEnum.class);
+
+    @Value("${app.notification.dispatch.workers-per-channel:8}")
+    private int workersPerChannel;
+
+    @Value("${app.notification.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.notification.circuit-breaker.open-ms:1000}")
+    private long openMs;
+
+    @Value("${app.notification.circuit-breaker.max-open-ms:60000}")
+    private long maxOpenMs;
+
+    public ChannelGuard(Environment environment, NotificationRepository notificationRepository) {
+        this.environment = environment;
+        this.notificationRepository = notificationRepository;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (NotificationChannelEnum channel : NotificationChannelEnum.values()) {
+            String prefix = "app.notification.channel." + channel.name().toLowerCase() + ".";
+            double ratePerSecond = environment.getProperty(prefix + "rate-per-second", Double.class, 0d);
+            int burst = environment.getProperty(prefix + "burst", Integer.class, (int) Math.max(Math.ceil(ratePerSecond), 1));
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, workersPerChannel);
+
+            guards.put(channel, new Guard(
+                    ratePerSecond > 0 ? new TokenBucket(ratePerSecond, burst) : null,
+                    maxConcurrent,
+                    new ChannelCircuitBreaker(channel, failureThreshold, openMs, maxOpenMs)));
+            if (ratePerSecond > 0) {
+                log.info("{} channel limited to {} sends/s (burst {}), {} concurrent", channel, ratePerSecond, burst, maxConcurrent);
+            } else {
+                log.info("{} channel not rate limited, {} concurrent", channel, maxConcurrent);
+            }
+        }
+    }
+
+    /**
+     * Whether the delivery worker of the channel may claim notifications now.
+     */
+    public boolean allowClaim(NotificationChannelEnum channel) {
+        Guard guard = guards.get(channel);
+        if (guard.breaker.allowClaim()) {
+            return true;
+        }
+        guard.claimsSkipped.increment();
+        return false;
+    }
+
+    /**
+     * How many notifications the delivery worker may claim: a single probe while the
+     * circuit is half-open.
+     */
+    public int claimLimit(NotificationChannelEnum channel, int claimSize) {
+        return guards.get(channel).breaker.getState() == ChannelCircuitBreaker.State.HALF_OPEN ? 1 : claimSize;
+    }
+
+    /**
+     * Admits one send: fails fast while the circuit is open, waits up to
+     * {@code bulkheadWaitMs} for a free slot, then waits for a token. An admitted send
+     * must be followed by {@link #release} once the provider call returns.
+     */
+    public Admission acquire(NotificationChannelEnum channel, long bulkheadWaitMs) throws InterruptedException {
+        Guard guard = guards.get(channel);
+        if (guard.breaker.getState() == ChannelCircuitBreaker.State.OPEN) {
+            guard.rejectedCircuitOpen.increment();
+            return Admission.CIRCUIT_OPEN;
+        }
+        if (!guard.bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+            guard.rejectedBulkheadFull.increment();
+            return Admission.BULKHEAD_FULL;
+        }
+        if (guard.rateLimiter != null) {
+            long waitNanos = guard.rateLimiter.reserve();
+            if (waitNanos > 0) {
+                guard.throttled.increment();
+                guard.throttledWaitNanos.add(waitNanos);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    guard.bulkhead.release();
+                    throw e;
+                }
+            }
+        }
+        guard.admitted.increment();
+        return Admission.ADMITTED;
+    }
+
+    public int maxConcurrent(NotificationChannelEnum channel) {
+        return guards.get(channel).maxConcurrent;
+    }
+
+    public void release(NotificationChannelEnum channel) {
+        guards.get(channel).bulkhead.release();
+    }
+
+    public void recordSuccess(NotificationChannelEnum channel) {
+        guards.get(channel).breaker.recordSuccess();
+    }
+
+    public void recordFailure(NotificationChannelEnum channel) {
+        Guard guard = guards.get(channel);
+        guard.failures.increment();
+        guard.breaker.recordFailure();
+    }
+
+    /**
+     * The provider turned a send down for quota reasons: no tokens are handed out for
+     * {@code retryAfterMs}. Does not count against the circuit, the provider is healthy.
+     */
+    public void recordRateLimited(NotificationChannelEnum channel, long retryAfterMs) {
+        Guard guard = guards.get(channel);
+        guard.rateLimited.increment();
+        if (guard.rateLimiter != null) {
+            guard.rateLimiter.pause(retryAfterMs);
+        }
+    }
+
+    public long remainingOpenMs(NotificationChannelEnum channel) {
+        return guards.get(channel).breaker.remainingOpenMs();
+    }
+
+    public List<ChannelGuardStats> getStats() {
+        List<ChannelGuardStats> stats = new ArrayList<>(guards.size());
+        guards.forEach((channel, guard) -> stats.add(ChannelGuardStats.builder()
+                .channel(channel)
+                .ratePerSecond(guard.rateLimiter != null ? guard.rateLimiter.getRatePerSecond() : 0)
+                .burst(guard.rateLimiter != null ? guard.rateLimiter.getBurst() : 0)
+                .availableTokens(guard.rateLimiter != null ? guard.rateLimiter.availableTokens() : 0)
+                .maxConcurrent(guard.maxConcurrent)
+                .inFlight(guard.maxConcurrent - guard.bulkhead.availablePermits())
+                .queued(notificationRepository.countByChannelAndStatus(channel, DeliveryStatusEnum.PENDING))
+                .admitted(guard.admitted.sum())
+                .throttled(guard.throttled.sum())
+                .throttledWaitMs(TimeUnit.NANOSECONDS.toMillis(guard.throttledWaitNanos.sum()))
+                .rejectedCircuitOpen(guard.rejectedCircuitOpen.sum())
+                .rejectedBulkheadFull(guard.rejectedBulkheadFull.sum())
+                .rateLimited(guard.rateLimited.sum())
+                .failures(guard.failures.sum())
+                .claimsSkipped(guard.claimsSkipped.sum())
+                .circuitState(guard.breaker.getState())
+                .circuitOpenings(guard.breaker.getOpenings())
+                .build()));
+        return stats;
+    }
+
+    private static final class Guard {
+
+        private final TokenBucket rateLimiter;
+        private final int maxConcurrent;
+        private final Semaphore bulkhead;
+        private final ChannelCircuitBreaker breaker;
+
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder throttledWaitNanos = new LongAdder();
+        private final LongAdder rejectedCircuitOpen = new LongAdder();
+        private final LongAdder rejectedBulkheadFull = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder claimsSkipped = new LongAdder();
+
+        private Guard(TokenBucket rateLimiter, int maxConcurrent, ChannelCircuitBreaker breaker) {
+            this.rateLimiter = rateLimiter;
+            this.maxConcurrent = maxConcurrent;
+            this.bulkhead = new Semaphore(maxConcurrent);
+            this.breaker = breaker;
+        }
+    }
+}
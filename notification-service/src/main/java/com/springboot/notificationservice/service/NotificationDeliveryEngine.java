@@ -0,0 +1,171 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.dto.event.NotificationsStored;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the notifications queued by the Kafka listeners, independently of
+ * consumption: records are acknowledged once their notifications are stored as PENDING,
+ * and provider latency only shows up as delivery backlog, not as consumer lag.
+ * <p>
+ * Each channel has a worker thread of its own, so a slow or open-circuited provider only
+ * holds up its own queue. A worker delivers batch after batch while they come back full.
+ * Every stored event queues one row per channel, so a commit wakes all workers.
+ * <p>
+ * Nothing else tells a worker about retries coming due, rows stored by other instances
+ * or a provider circuit closing again, so an idle worker keeps polling: after a round
+ * that claimed nothing it waits twice as long as before, from {@code min-ms} up to
+ * {@code max-ms}, and goes back to {@code min-ms} as soon as it claims something.
+ * <p>
+ * On shutdown the workers finish the batch they are sending and stop claiming. A worker
+ * still busy after {@code shutdown-timeout-ms} is abandoned; the rows it claimed are due
+ * again when their lease ends.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.delivery.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class NotificationDeliveryEngine implements SmartLifecycle {
+
+    private final NotificationDeliveryService deliveryService;
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Value("${app.notification.delivery.idle-backoff.min-ms:50}")
+    private long minIdleWaitMs;
+
+    @Value("${app.notification.delivery.idle-backoff.max-ms:2000}")
+    private long maxIdleWaitMs;
+
+    @Value("${app.notification.delivery.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final List<ChannelWorker> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public NotificationDeliveryEngine(NotificationDeliveryService deliveryService,
+                                      NotificationDispatcher notificationDispatcher) {
+        this.deliveryService = deliveryService;
+        this.notificationDispatcher = notificationDispatcher;
+    }
+
+    @TransactionalEventListener
+    public void onNotificationsStored(NotificationsStored stored) {
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        workers.forEach(ChannelWorker::wakeUp);
+    }
+
+    /**
+     * How long an idle worker waits before it claims again.
+     */
+    static long nextIdleWaitMs(long previousWaitMs, int claimed, long minWaitMs, long maxWaitMs) {
+        if (claimed > 0) {
+            return minWaitMs;
+        }
+        return Math.min(Math.max(previousWaitMs, minWaitMs) * 2, maxWaitMs);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (NotificationChannelEnum channel : notificationDispatcher.channels()) {
+            ChannelWorker worker = new ChannelWorker(channel);
+            workers.add(worker);
+            worker.thread.start();
+        }
+        log.info("Notification delivery engine started for channels {}", notificationDispatcher.channels());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            for (ChannelWorker worker : workers) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs > 0) {
+                    worker.thread.join(remainingMs);
+                }
+                if (worker.thread.isAlive()) {
+                    log.warn("{} notification delivery still busy after {} ms; its claimed rows are retried when their lease ends",
+                            worker.channel, shutdownTimeoutMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class ChannelWorker implements Runnable {
+
+        private final NotificationChannelEnum channel;
+        // at most one permit: any number of commits during a round mean one more round
+        private final Semaphore wakeups = new Semaphore(0);
+        private final Thread thread;
+
+        private ChannelWorker(NotificationChannelEnum channel) {
+            this.channel = channel;
+            this.thread = new Thread(this, "notification-delivery-" + channel.name().toLowerCase());
+            this.thread.setDaemon(true);
+        }
+
+        private void wakeUp() {
+            if (wakeups.availablePermits() == 0) {
+                wakeups.release();
+            }
+        }
+
+        @Override
+        public void run() {
+            long idleWaitMs = minIdleWaitMs;
+            while (running) {
+                idleWaitMs = nextIdleWaitMs(idleWaitMs, deliverQueued(), minIdleWaitMs, maxIdleWaitMs);
+                try {
+                    if (wakeups.tryAcquire(idleWaitMs, TimeUnit.MILLISECONDS)) {
+                        wakeups.drainPermits();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return notifications claimed in this round; 0 also when the channel's circuit is
+         * open or the claim failed, which slows the worker down the same way
+         */
+        private int deliverQueued() {
+            int claimed = 0;
+            try {
+                NotificationDeliveryService.BatchResult result;
+                do {
+                    result = deliveryService.deliverBatch(channel);
+                    claimed += result.claimed();
+                } while (running && result.full());
+            } catch (Exception e) {
+                log.error("Notification delivery failed for channel {}: {}", channel, e.getMessage(), e);
+            }
+            return claimed;
+        }
+    }
+}
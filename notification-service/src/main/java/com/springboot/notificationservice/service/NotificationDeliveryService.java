@@ -0,0 +1,118 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.model.Notification;
+import com.springboot.notificationservice.repository.NotificationBatchWriter;
+import com.springboot.notificationservice.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Works one batch of the delivery queue of a channel: claims due PENDING notifications,
+ * sends them through the dispatcher and writes the outcomes back.
+ * <p>
+ * The claim is a short transaction of its own ({@code FOR UPDATE SKIP LOCKED}, then the
+ * rows are leased by moving {@code next_attempt_at} to the end of {@code lease-ms}), so
+ * no locks or connections are held while providers are called. Concurrent workers and
+ * instances skip each other's rows; rows of a worker that dies before writing outcomes
+ * become due again when the lease ends. The lease should cover a full batch:
+ * {@code claim-size / max-concurrent} rounds of the channel timeout, plus the time the
+ * batch waits for the channel's rate limit ({@code claim-size / rate-per-second}).
+ * <p>
+ * While the channel's circuit is open nothing is claimed, the notifications stay queued
+ * as PENDING; when it is half-open a single notification is claimed as a probe.
+ */
+@Service
+@Slf4j
+public class NotificationDeliveryService {
+
+    public record BatchResult(int claimed, boolean full) {
+        static final BatchResult EMPTY = new BatchResult(0, false);
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ChannelGuard channelGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification.delivery.claim-size:50}")
+    private int claimSize;
+
+    @Value("${app.notification.delivery.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${app.notification.delivery.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notification.delivery.retry.base-delay-ms:1000}")
+    private long baseDelayMs;
+
+    @Value("${app.notification.delivery.retry.max-delay-ms:300000}")
+    private long maxDelayMs;
+
+    public NotificationDeliveryService(NotificationRepository notificationRepository,
+                                       NotificationBatchWriter notificationBatchWriter,
+                                       NotificationDispatcher notificationDispatcher,
+                                       ChannelGuard channelGuard,
+                                       PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchWriter = notificationBatchWriter;
+        this.notificationDispatcher = notificationDispatcher;
+        this.channelGuard = channelGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchResult deliverBatch(NotificationChannelEnum channel) {
+        if (!channelGuard.allowClaim(channel)) {
+            // provider down: claim nothing, the idle backoff of the worker paces the checks
+            return BatchResult.EMPTY;
+        }
+        int limit = channelGuard.claimLimit(channel, claimSize);
+        List<Notification> claimed = transactionTemplate.execute(status -> {
+            List<Notification> due = notificationRepository.findDueForUpdate(channel.name(), limit);
+            if (!due.isEmpty()) {
+                notificationRepository.leaseUntil(due.stream().map(Notification::getId).toList(), leaseMs);
+            }
+            return due;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return BatchResult.EMPTY;
+        }
+
+        List<CompletableFuture<DeliveryResult>> attempts = new ArrayList<>(claimed.size());
+        for (Notification notification : claimed) {
+            // an attempt that could not even be started (dispatcher stopping, worker interrupted)
+            // is deferred, so the outcomes of the rest of the batch are still written
+            attempts.add(notificationDispatcher.send(notification)
+                    .exceptionally(error -> notStarted(notification, error)));
+        }
+        List<DeliveryResult> results = new ArrayList<>(attempts.size());
+        for (CompletableFuture<DeliveryResult> attempt : attempts) {
+            results.add(attempt.join());
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                notificationBatchWriter.recordOutcomes(results, maxAttempts, baseDelayMs, maxDelayMs));
+
+        long delivered = results.stream().filter(DeliveryResult::delivered).count();
+        long deferred = results.stream().filter(DeliveryResult::deferred).count();
+        log.debug("Delivered {} of {} {} notifications, {} deferred", delivered, results.size(), channel, deferred);
+        return new BatchResult(claimed.size(), claimed.size() >= claimSize);
+    }
+
+    private DeliveryResult notStarted(Notification notification, Throwable error) {
+        log.warn("Could not send {} notification for eventId: {}, deferring: {}",
+                notification.getChannel(), notification.getEventId(), error.getMessage());
+        return DeliveryResult.deferred(notification.getId(),
+                notification.getChannel() + " send deferred: " + error.getMessage(), baseDelayMs);
+    }
+}
@@ -0,0 +1,164 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.channel.NotificationChannel;
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.exception.ChannelRateLimitedException;
+import com.springboot.notificationservice.model.Notification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends stored notifications through their {@link NotificationChannel}. Every channel has
+ * its own pool, so a slow provider cannot take threads from the others, and each send is
+ * bounded by the channel's timeout; failures and timeouts become failed
+ * {@link DeliveryResult}s.
+ * <p>
+ * Sends are admitted by the {@link ChannelGuard}: the calling delivery worker waits for
+ * the channel's rate limit, and for a free slot of its bulkhead for up to one channel
+ * timeout. Sends turned away by an open circuit, a full bulkhead or the provider's quota
+ * become deferred results.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final Map<NotificationChannelEnum, NotificationChannel> channels = new EnumMap<>(NotificationChannelEnum.class);
+    private final Map<NotificationChannelEnum, ThreadPoolExecutor> executors = new EnumMap<>(NotificationChannelEnum.class);
+    private final ChannelGuard channelGuard;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, ChannelGuard channelGuard) {
+        this.channelGuard = channelGuard;
+        channels.stream()
+                .sorted(Comparator.comparing(NotificationChannel::channel))
+                .forEach(channel -> this.channels.put(channel.channel(), channel));
+    }
+
+    @PostConstruct
+    public void start() {
+        for (NotificationChannelEnum channel : channels.keySet()) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            String prefix = "notification-" + channel.name().toLowerCase() + "-";
+            int threads = channelGuard.maxConcurrent(channel);
+            // the bulkhead admits no more sends than there are threads, so the queue stays short
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, prefix + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            executors.put(channel, executor);
+        }
+        log.info("Notification dispatcher started for channels {}", channels.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        try {
+            for (ThreadPoolExecutor executor : executors.values()) {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Channels with a registered sender, in a stable order.
+     */
+    public List<NotificationChannelEnum> channels() {
+        return List.copyOf(channels.keySet());
+    }
+
+    public CompletableFuture<DeliveryResult> send(Notification notification) {
+        NotificationChannel channel = channels.get(notification.getChannel());
+        if (channel == null) {
+            return CompletableFuture.completedFuture(new DeliveryResult(notification.getId(), false,
+                    notification.getChannel() + " failed to send: no sender registered"));
+        }
+
+        ThreadPoolExecutor executor = executors.get(channel.channel());
+        if (executor.isShutdown()) {
+            // the row stays PENDING and is claimed again after its lease
+            return CompletableFuture.failedFuture(new IllegalStateException("Notification dispatcher is stopped"));
+        }
+
+        ChannelGuard.Admission admission;
+        try {
+            admission = channelGuard.acquire(channel.channel(), channel.timeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (admission == ChannelGuard.Admission.CIRCUIT_OPEN) {
+            return CompletableFuture.completedFuture(DeliveryResult.deferred(notification.getId(),
+                    channel.channel() + " send deferred: circuit open",
+                    channelGuard.remainingOpenMs(channel.channel())));
+        }
+        if (admission == ChannelGuard.Admission.BULKHEAD_FULL) {
+            return CompletableFuture.completedFuture(DeliveryResult.deferred(notification.getId(),
+                    channel.channel() + " send deferred: all " + channelGuard.maxConcurrent(channel.channel())
+                            + " slots busy", channel.timeoutMs()));
+        }
+
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+        executor.execute(() -> {
+            // the timeout starts when a thread picks the send up, not while it waits in the queue
+            attempt.orTimeout(channel.timeoutMs(), TimeUnit.MILLISECONDS);
+            try {
+                attempt.complete(channel.send(notification));
+            } catch (Exception e) {
+                attempt.completeExceptionally(e);
+            } finally {
+                // after a timeout the slot stays taken until the provider call really returns
+                channelGuard.release(channel.channel());
+            }
+        });
+
+        return attempt
+                .handle((message, error) -> {
+                    if (error == null) {
+                        channelGuard.recordSuccess(channel.channel());
+                        return new DeliveryResult(notification.getId(), true, message);
+                    }
+
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof ChannelRateLimitedException rateLimited) {
+                        channelGuard.recordRateLimited(channel.channel(), rateLimited.getRetryAfterMs());
+                        log.warn("{} provider quota exceeded for eventId: {}, retrying in {} ms",
+                                channel.channel(), notification.getEventId(), rateLimited.getRetryAfterMs());
+                        return DeliveryResult.deferred(notification.getId(),
+                                channel.channel() + " send deferred: " + cause.getMessage(),
+                                rateLimited.getRetryAfterMs());
+                    }
+
+                    channelGuard.recordFailure(channel.channel());
+                    String reason = cause instanceof TimeoutException
+                            ? "no response within " + channel.timeoutMs() + " ms"
+                            : cause.getMessage();
+                    log.error("Failed to send {} notification for eventId: {}, error: {}",
+                            channel.channel(), notification.getEventId(), reason);
+                    return new DeliveryResult(notification.getId(), false,
+                            channel.channel() + " failed to send: " + reason);
+                });
+    }
+}
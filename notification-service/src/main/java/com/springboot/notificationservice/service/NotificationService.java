@@ -1,64 +1,152 @@
 package com.springboot.notificationservice.service;
 
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
 import com.springboot.notificationservice.dto.NotificationTypeEnum;
-import com.springboot.notificationservice.dto.event.OrderCreated;
+import com.springboot.notificationservice.dto.event.NotificationsStored;
 import com.springboot.notificationservice.exception.NotificationNotFoundException;
 import com.springboot.notificationservice.model.Notification;
+import com.springboot.notificationservice.repository.NotificationBatchWriter;
 import com.springboot.notificationservice.repository.NotificationRepository;
 import com.springboot.notificationservice.utility.NotificationUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final RecentEventIdFilter recentEventIdFilter;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationBatchWriter notificationBatchWriter,
+                               RecentEventIdFilter recentEventIdFilter,
+                               NotificationDispatcher notificationDispatcher,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchWriter = notificationBatchWriter;
+        this.recentEventIdFilter = recentEventIdFilter;
+        this.notificationDispatcher = notificationDispatcher;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Only queues the notifications; the delivery engine sends them after the record is acknowledged
     public void processOrderCreated(OrderCreated event) {
 
-        // Idempotency check
-        if (notificationRepository.existsByEventId(event.eventId())) {
-            log.warn("Event already processed for eventId: {}", event.eventId());
+        // Skip redeliveries before anything is queued; most events are answered "new" by the
+        // in-process filter without a query
+        if (dropAlreadyProcessed(List.of(event)).isEmpty()) {
             return;
         }
 
-        // Send Notification (SMS, Email, Push Notification)
-        String[] notificationTypes = {"SMS", "EMAIL", "FCM"};
-        for (String type : notificationTypes) {
-            Notification notification;
-            try {
-                // Simulate sending notification
-                log.info("Sending {} notification for eventId: {}", type, event.eventId());
-                // Here we can integrate with actual notification services
-                // (e.g., Twilio for SMS, SendGrid for Email, Firebase for FCM)
-
-                notification = NotificationUtil.prepareNotification(event, true,
-                        type + " sent successfully",
-                        NotificationTypeEnum.ORDER_CREATED);
-
-            } catch (Exception e) {
-                log.error("Failed to send {} notification for eventId: {}, error: {}",
-                        type, event.eventId(), e.getMessage());
-
-                // Creating a failed notification record
-                notification = NotificationUtil.prepareNotification(event, false,
-                        type + " failed to send: " + e.getMessage(),
-                        NotificationTypeEnum.ORDER_CREATED);
+        // Idempotency is enforced by the unique (event_id, channel) key: rows that already
+        // exist are ignored by the insert, so there is no check-then-insert race.
+        int inserted = store(pendingNotifications(List.of(event)), List.of(event.eventId()));
+        if (inserted == 0) {
+            log.warn("Event already processed for eventId: {}", event.eventId());
+        }
+    }
+
+    /**
+     * Handles a whole poll: duplicates within the batch and events processed before are
+     * dropped, and one PENDING notification per channel of the remaining events is written
+     * in one transaction with one insert-ignore per chunk, which also skips (event, channel)
+     * pairs that another consumer stored concurrently.
+     *
+     * @return number of notifications actually inserted
+     */
+    public int processOrderCreatedBatch(List<OrderCreated> events) {
+        Map<String, OrderCreated> eventsById = new LinkedHashMap<>();
+        for (OrderCreated event : events) {
+            if (eventsById.putIfAbsent(event.eventId(), event) != null) {
+                log.warn("Duplicate eventId {} within batch skipped", event.eventId());
             }
+        }
+        List<OrderCreated> newEvents = dropAlreadyProcessed(eventsById.values());
+        if (newEvents.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> notifications = pendingNotifications(newEvents);
+        int inserted = store(notifications, newEvents.stream().map(OrderCreated::eventId).toList());
+
+        log.info("Processed batch of {} events: {} new, {} of {} notifications queued",
+                events.size(), newEvents.size(), inserted, notifications.size());
+        return inserted;
+    }
 
-            if (notification != null)
-                notificationRepository.save(notification);
+    private List<Notification> pendingNotifications(List<OrderCreated> events) {
+        List<NotificationChannelEnum> channels = notificationDispatcher.channels();
+        List<Notification> notifications = new ArrayList<>(events.size() * channels.size());
+        for (OrderCreated event : events) {
+            for (NotificationChannelEnum channel : channels) {
+                notifications.add(NotificationUtil.preparePendingNotification(event, channel,
+                        NotificationTypeEnum.ORDER_CREATED));
+            }
+        }
+        return notifications;
+    }
+
+    private int store(List<Notification> notifications, List<String> eventIds) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            int rows = notificationBatchWriter.insertAll(notifications);
+            eventPublisher.publishEvent(NotificationsStored.of(eventIds));
+            return rows;
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * Removes events that were processed before. Ids the filter has not seen go through
+     * without a query; only possible hits are looked up, with one query for all of them.
+     */
+    private List<OrderCreated> dropAlreadyProcessed(Collection<OrderCreated> events) {
+        List<OrderCreated> newEvents = new ArrayList<>(events.size());
+        Map<String, OrderCreated> possiblySeen = new LinkedHashMap<>();
+        for (OrderCreated event : events) {
+            switch (recentEventIdFilter.check(event.eventId())) {
+                case NEW -> newEvents.add(event);
+                case DUPLICATE -> log.warn("Event already processed for eventId: {}", event.eventId());
+                case UNKNOWN -> possiblySeen.put(event.eventId(), event);
+            }
+        }
+        if (possiblySeen.isEmpty()) {
+            return newEvents;
+        }
+
+        Set<String> stored = new HashSet<>(notificationRepository.findExistingEventIds(List.copyOf(possiblySeen.keySet())));
+        for (OrderCreated event : possiblySeen.values()) {
+            boolean alreadyStored = stored.contains(event.eventId());
+            recentEventIdFilter.recordDatabaseResult(event.eventId(), alreadyStored);
+            if (alreadyStored) {
+                log.warn("Event already processed for eventId: {}", event.eventId());
+            } else {
+                newEvents.add(event);
+            }
         }
+        return newEvents;
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,265 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.RecentEventIdFilterStats;
+import com.springboot.notificationservice.dto.event.NotificationsStored;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process front filter for the idempotency check. Nearly every consumed event is new,
+ * and a rotating Bloom filter answers "definitely new" for those without touching MySQL.
+ * <p>
+ * Ids are added once their notifications are committed. The filter keeps
+ * {@value #GENERATIONS} generations that each cover half of {@code window-ms} (or
+ * {@code expected-events-per-window / 2} insertions, whichever comes first); the oldest
+ * generation is dropped on rotation, so memory is fixed at start-up however long the
+ * service runs. A small exact LRU of recently stored ids turns the common redelivery
+ * case (a rebalance replaying the last poll) into a skip without a query; other Bloom
+ * hits are resolved against the database by the caller.
+ */
+@Component
+@Slf4j
+public class RecentEventIdFilter {
+
+    public enum Verdict {
+        // not seen within the window: process without asking the database
+        NEW,
+        // stored recently, skip
+        DUPLICATE,
+        // possibly seen, the database decides
+        UNKNOWN
+    }
+
+    static final int GENERATIONS = 2;
+
+    @Value("${app.notification.dedup-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.dedup-filter.window-ms:600000}")
+    private long windowMs;
+
+    @Value("${app.notification.dedup-filter.expected-events-per-window:1000000}")
+    private int expectedEventsPerWindow;
+
+    @Value("${app.notification.dedup-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.notification.dedup-filter.recent-cache-size:10000}")
+    private int recentCacheSize;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder definitelyNew = new LongAdder();
+    private final LongAdder recentDuplicates = new LongAdder();
+    private final LongAdder databaseFallbacks = new LongAdder();
+    private final LongAdder confirmedDuplicates = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private final Deque<Generation> generations = new ArrayDeque<>(GENERATIONS);
+    private Map<String, Long> recentIds;
+    private int bitsPerGeneration;
+    private int hashFunctions;
+    private int insertionsPerGeneration;
+
+    @PostConstruct
+    public void init() {
+        insertionsPerGeneration = Math.max(1, expectedEventsPerWindow / GENERATIONS);
+        // classic sizing: m = -n ln p / (ln 2)^2, k = m / n ln 2. Lookups consult every
+        // generation, so the effective rate is up to GENERATIONS * p.
+        double bits = -insertionsPerGeneration * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        bitsPerGeneration = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, (long) Math.ceil(bits)));
+        hashFunctions = Math.max(1, (int) Math.round((double) bitsPerGeneration / insertionsPerGeneration * Math.log(2)));
+
+        generations.clear();
+        generations.addFirst(new Generation(bitsPerGeneration, System.currentTimeMillis()));
+        recentIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > recentCacheSize;
+            }
+        };
+
+        if (enabled) {
+            log.info("Recent event id filter: {} generations of {} bits, {} hash functions, window {} ms",
+                    GENERATIONS, bitsPerGeneration, hashFunctions, windowMs);
+        }
+    }
+
+    public Verdict check(String eventId) {
+        return check(eventId, System.currentTimeMillis());
+    }
+
+    synchronized Verdict check(String eventId, long nowMillis) {
+        if (!enabled) {
+            // duplicates are still caught by the insert-ignore on (event_id, channel)
+            return Verdict.NEW;
+        }
+        checks.increment();
+        rotateIfDue(nowMillis);
+
+        long hash = hash(eventId);
+        boolean possiblySeen = false;
+        for (Generation generation : generations) {
+            if (generation.mightContain(hash, hashFunctions)) {
+                possiblySeen = true;
+                break;
+            }
+        }
+        if (!possiblySeen) {
+            definitelyNew.increment();
+            return Verdict.NEW;
+        }
+
+        Long storedAt = recentIds.get(eventId);
+        if (storedAt != null && nowMillis - storedAt < windowMs) {
+            recentDuplicates.increment();
+            return Verdict.DUPLICATE;
+        }
+        databaseFallbacks.increment();
+        return Verdict.UNKNOWN;
+    }
+
+    /**
+     * Feeds back the database answer for an {@link Verdict#UNKNOWN} id.
+     */
+    public void recordDatabaseResult(String eventId, boolean alreadyStored) {
+        if (!enabled) {
+            return;
+        }
+        if (alreadyStored) {
+            confirmedDuplicates.increment();
+            remember(eventId, System.currentTimeMillis());
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onNotificationsStored(NotificationsStored stored) {
+        rememberAll(stored.eventIds());
+    }
+
+    public void rememberAll(Collection<String> eventIds) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String eventId : eventIds) {
+            remember(eventId, now);
+        }
+    }
+
+    synchronized void remember(String eventId, long nowMillis) {
+        rotateIfDue(nowMillis);
+        Generation current = generations.peekFirst();
+        current.add(hash(eventId), hashFunctions);
+        recentIds.put(eventId, nowMillis);
+    }
+
+    public synchronized RecentEventIdFilterStats getStats() {
+        long fp = falsePositives.sum();
+        long newEvents = definitelyNew.sum() + fp;
+        return RecentEventIdFilterStats.builder()
+                .enabled(enabled)
+                .checks(checks.sum())
+                .definitelyNew(definitelyNew.sum())
+                .recentDuplicates(recentDuplicates.sum())
+                .databaseFallbacks(databaseFallbacks.sum())
+                .confirmedDuplicates(confirmedDuplicates.sum())
+                .falsePositives(fp)
+                .falsePositiveRate(newEvents == 0 ? 0.0 : (double) fp / newEvents)
+                .bloomGenerations(generations.size())
+                .bloomBitsPerGeneration(bitsPerGeneration)
+                .bloomHashFunctions(hashFunctions)
+                .bloomMemoryBytes((long) GENERATIONS * (bitsPerGeneration / 64 + 1) * Long.BYTES)
+                .currentGenerationInsertions(generations.peekFirst().insertions)
+                .recentCacheSize(recentIds.size())
+                .recentCacheCapacity(recentCacheSize)
+                .build();
+    }
+
+    private void rotateIfDue(long nowMillis) {
+        Generation current = generations.peekFirst();
+        if (nowMillis - current.startedAtMillis < windowMs / GENERATIONS
+                && current.insertions < insertionsPerGeneration) {
+            return;
+        }
+        if (generations.size() == GENERATIONS) {
+            // reuse the oldest bit array, so rotation allocates nothing
+            Generation oldest = generations.removeLast();
+            oldest.reset(nowMillis);
+            generations.addFirst(oldest);
+        } else {
+            generations.addFirst(new Generation(bitsPerGeneration, nowMillis));
+        }
+        log.debug("Rotated recent event id filter after {} insertions", current.insertions);
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 fmix64 mixer
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Generation {
+
+        private final long[] words;
+        private final int bits;
+        private long startedAtMillis;
+        private int insertions;
+
+        private Generation(int bits, long startedAtMillis) {
+            this.bits = bits;
+            this.words = new long[bits / 64 + 1];
+            this.startedAtMillis = startedAtMillis;
+        }
+
+        // double hashing (Kirsch-Mitzenmacher): index_i = h1 + i * h2
+        private void add(long hash, int hashFunctions) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                int index = Math.floorMod(h1 + i * h2, bits);
+                words[index >>> 6] |= 1L << index;
+            }
+            insertions++;
+        }
+
+        private boolean mightContain(long hash, int hashFunctions) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                int index = Math.floorMod(h1 + i * h2, bits);
+                if ((words[index >>> 6] & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void reset(long nowMillis) {
+            Arrays.fill(words, 0L);
+            startedAtMillis = nowMillis;
+            insertions = 0;
+        }
+    }
+}
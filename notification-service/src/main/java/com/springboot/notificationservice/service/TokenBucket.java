@@ -0,0 +1,78 @@
+package com.springboot.notificationservice.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding up to {@code burst} tokens, refilled at {@code ratePerSecond}.
+ * <p>
+ * {@link #reserve()} always takes a token, going into debt when the bucket is empty, and
+ * returns how long the caller has to wait before using it. Callers that wait their turn
+ * are therefore spaced exactly {@code 1 / ratePerSecond} apart, so a channel sends at its
+ * provider's quota instead of bursting into rejections and backing off.
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double tokensPerNano;
+    private final int burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and burst");
+        }
+        this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return nanoseconds the caller has to wait before the token may be used, 0 if it
+     * may be used right away
+     */
+    public synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Hands out no tokens for the next {@code delayMs}, e.g. after the provider answered
+     * with a Retry-After. Tokens already reserved are pushed back by the same delay.
+     */
+    public synchronized void pause(long delayMs) {
+        refill();
+        tokens = Math.min(tokens, 0) - delayMs * 1_000_000d * tokensPerNano;
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return Math.max(tokens, 0);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public double getRatePerSecond() {
+        return tokensPerNano * NANOS_PER_SECOND;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
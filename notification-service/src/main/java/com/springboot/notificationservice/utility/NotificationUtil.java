@@ -1,7 +1,9 @@
 package com.springboot.notificationservice.utility;
 
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
 import com.springboot.notificationservice.dto.NotificationTypeEnum;
-import com.springboot.notificationservice.dto.event.OrderCreated;
 import com.springboot.notificationservice.model.Notification;
 
 public class NotificationUtil {
@@ -9,18 +11,20 @@ public class NotificationUtil {
         // Private constructor to prevent instantiation
     }
 
-    public static Notification prepareNotification(OrderCreated event,
-                                            boolean processed,
-                                            String message,
-                                            NotificationTypeEnum notificationType) {
+    // A notification queued for delivery; the delivery engine sends it later
+    public static Notification preparePendingNotification(OrderCreated event,
+                                                   NotificationChannelEnum channel,
+                                                   NotificationTypeEnum notificationType) {
 
         return Notification.builder()
                 .eventId(event.eventId())
                 .orderId(event.orderId())
                 .email(event.customerEmail())
                 .type(notificationType)
-                .delivered(processed)
-                .message(message)
+                .channel(channel)
+                .delivered(false)
+                .status(DeliveryStatusEnum.PENDING)
+                .attempts(0)
                 .build();
     }
 }
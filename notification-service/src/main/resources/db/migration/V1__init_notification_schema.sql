@@ -0,0 +1,15 @@
+-- ========== NOTIFICATION SERVICE SCHEMA ==========
+-- Matches the table Hibernate created with ddl-auto before migrations were picked up
+-- (they lived in db.migration, which is not on the Flyway location), so IF NOT EXISTS
+-- keeps this a no-op on existing databases.
+
+CREATE TABLE IF NOT EXISTS notification (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NULL,
+    email VARCHAR(255) NULL,
+    type VARCHAR(32) NULL,
+    delivered BOOLEAN NULL,
+    message VARCHAR(255) NULL,
+    event_id VARCHAR(255) NULL,
+    created_at DATETIME(6) NULL
+    );
@@ -0,0 +1,27 @@
+-- ========== NOTIFICATION IDEMPOTENCY ==========
+-- One row per event and channel. The unique key turns idempotency into an atomic
+-- INSERT IGNORE instead of a SELECT followed by an INSERT, which two consumers could
+-- both pass during a rebalance.
+ALTER TABLE notification ADD COLUMN channel VARCHAR(16) NULL;
+
+-- Rows written before this column existed carry the channel as the message prefix
+-- ("SMS sent successfully").
+UPDATE notification
+SET channel = SUBSTRING_INDEX(message, ' ', 1)
+WHERE channel IS NULL;
+
+-- Drop duplicates left by the old check-then-insert, keeping the first row.
+DELETE newer
+FROM notification newer
+JOIN notification older
+  ON older.event_id = newer.event_id
+ AND older.channel = newer.channel
+ AND older.id < newer.id;
+
+ALTER TABLE notification
+    MODIFY channel VARCHAR(16) NOT NULL,
+    MODIFY event_id VARCHAR(255) NOT NULL,
+    ADD CONSTRAINT uk_notification_event_channel UNIQUE (event_id, channel);
+
+-- GET /notifications/order/{orderId}
+CREATE INDEX idx_notification_order_id ON notification(order_id);
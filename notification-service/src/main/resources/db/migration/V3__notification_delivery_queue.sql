@@ -0,0 +1,22 @@
+-- ========== NOTIFICATION DELIVERY QUEUE ==========
+-- Notifications are stored as PENDING when the event is consumed and delivered later by
+-- the delivery engine, so consumption no longer waits on the providers.
+--   PENDING   -> DELIVERED  provider accepted the notification
+--   PENDING   -> PENDING    failed attempt, next_attempt_at pushed out with backoff
+--   PENDING   -> FAILED     max attempts reached
+-- A claimed row keeps status PENDING with next_attempt_at moved to the end of the claim
+-- lease, so rows of a crashed instance become due again on their own.
+ALTER TABLE notification
+    ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at DATETIME(6) NULL;
+
+-- Rows written before were sent synchronously
+UPDATE notification
+SET status = IF(delivered, 'DELIVERED', 'FAILED'),
+    attempts = 1;
+
+-- The claim query of each channel worker:
+--   WHERE status = 'PENDING' AND channel = ? AND next_attempt_at <= NOW(6)
+--   ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_notification_delivery ON notification(status, channel, next_attempt_at);
@@ -1,5 +1,7 @@
 package com.springboot.notificationservice.controller;
 
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
 import com.springboot.notificationservice.dto.NotificationTypeEnum;
 import com.springboot.notificationservice.exception.NotificationNotFoundException;
 import com.springboot.notificationservice.model.Notification;
@@ -45,7 +47,11 @@ class NotificationControllerTest {
                 1L,
                 "test@mail.com",
                 NotificationTypeEnum.ORDER_CREATED,
+                NotificationChannelEnum.EMAIL,
                 true,
+                DeliveryStatusEnum.DELIVERED,
+                1,
+                null,
                 "Email sent",
                 Instant.now(),
                 "event-123"
@@ -0,0 +1,40 @@
+package com.springboot.notificationservice.listener;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreatedBatchListenerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private OrderCreatedBatchListener listener;
+
+    @Test
+    void shouldFlattenRecordsAndEnvelopesIntoOneServiceCall() {
+        OrderCreated first = new OrderCreated("evt-1", Instant.now(), 1L, "test@example.com", "P123", 2);
+        OrderCreated second = new OrderCreated("evt-2", Instant.now(), 1L, "test@example.com", "P456", 1);
+        OrderCreated third = new OrderCreated("evt-3", Instant.now(), 2L, "test@example.com", "P789", 1);
+
+        listener.handleOrderCreatedBatch(List.of(
+                new ConsumerRecord<>("order-created-topic", 0, 0L, "1", List.of(first, second)),
+                new ConsumerRecord<>("order-created-topic", 1, 0L, "2", List.of(third))));
+
+        verify(notificationService, times(1))
+                .processOrderCreatedBatch(List.of(first, second, third));
+    }
+}
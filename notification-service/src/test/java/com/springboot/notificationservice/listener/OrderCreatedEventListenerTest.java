@@ -1,17 +1,20 @@
 package com.springboot.notificationservice.listener;
 
-import com.springboot.notificationservice.dto.event.OrderCreated;
+import com.springboot.eventcontract.event.OrderCreated;
 import com.springboot.notificationservice.service.NotificationService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -36,17 +39,29 @@ class OrderCreatedEventListenerTest {
                 2
         );
 
-        ConsumerRecord<String, OrderCreated>
+        ConsumerRecord<String, List<OrderCreated>>
                 consumerRecord = new ConsumerRecord<>(
                 "order-created-topic",
                 0,
                 0L,
                 event.eventId(),
-                event);
+                List.of(event));
 
         listener.handleOrderCreated(consumerRecord);
 
         verify(notificationService, times(1))
                 .processOrderCreated(event);
     }
+
+    @Test
+    void shouldProcessEveryEventOfAnEnvelopeInOrder() {
+        OrderCreated first = new OrderCreated("evt-1", Instant.now(), 1L, "test@example.com", "P123", 2);
+        OrderCreated second = new OrderCreated("evt-2", Instant.now(), 1L, "test@example.com", "P456", 1);
+
+        listener.handleOrderCreated(new ConsumerRecord<>("order-created-topic", 0, 0L, "1", List.of(first, second)));
+
+        InOrder inOrder = inOrder(notificationService);
+        inOrder.verify(notificationService).processOrderCreated(first);
+        inOrder.verify(notificationService).processOrderCreated(second);
+    }
 }
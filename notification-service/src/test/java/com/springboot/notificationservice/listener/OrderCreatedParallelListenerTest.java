@@ -0,0 +1,114 @@
+package com.springboot.notificationservice.listener;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.service.NotificationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreatedParallelListenerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private OrderCreatedParallelListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new OrderCreatedParallelListener(notificationService);
+        ReflectionTestUtils.setField(listener, "laneCount", 4);
+        ReflectionTestUtils.setField(listener, "laneQueueCapacity", 10);
+        ReflectionTestUtils.setField(listener, "maxAttempts", 2);
+        ReflectionTestUtils.setField(listener, "retryBackoffMs", 10L);
+        listener.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    private static ConsumerRecord<String, List<OrderCreated>> record(long offset, String key, String eventId) {
+        OrderCreated event = new OrderCreated(eventId, Instant.now(), Long.valueOf(key), "test@example.com", "P123", 1);
+        return new ConsumerRecord<>("order-created-topic", 0, offset, key, List.of(event));
+    }
+
+    @Test
+    void shouldKeepOrderPerKey_andAcknowledgeOnlyTheCompletedPrefix() throws Exception {
+        CountDownLatch releaseSlowRecord = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            OrderCreated event = invocation.getArgument(0);
+            if (event.eventId().equals("evt-0")) {
+                releaseSlowRecord.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(event.eventId());
+            return null;
+        }).when(notificationService).processOrderCreated(any());
+
+        Acknowledgment slowAck = mock(Acknowledgment.class);
+        Acknowledgment sameKeyAck = mock(Acknowledgment.class);
+        Acknowledgment otherKeyAck = mock(Acknowledgment.class);
+        Acknowledgment lastAck = mock(Acknowledgment.class);
+
+        // keys "1" and "2" land on different lanes of four
+        listener.handleOrderCreated(record(0, "1", "evt-0"), slowAck);
+        listener.handleOrderCreated(record(1, "2", "evt-1"), otherKeyAck);
+        listener.handleOrderCreated(record(2, "1", "evt-2"), sameKeyAck);
+        listener.handleOrderCreated(record(3, "2", "evt-3"), lastAck);
+
+        // the other key is not held up by the slow record, but nothing is committed past it.
+        // Wait until the lane has marked offsets 1 and 3 completed, not just processed them,
+        // otherwise offset 0 could complete first and legitimately be acknowledged itself.
+        PartitionOffsetTracker<?> offsetTracker =
+                (PartitionOffsetTracker<?>) ReflectionTestUtils.getField(listener, "offsetTracker");
+        TopicPartition partition = new TopicPartition("order-created-topic", 0);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (offsetTracker.completedAhead(partition) < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, offsetTracker.completedAhead(partition));
+        assertEquals(List.of("evt-1", "evt-3"), processed);
+        verifyNoInteractions(slowAck, otherKeyAck, sameKeyAck, lastAck);
+
+        releaseSlowRecord.countDown();
+
+        // offset 0 completes the prefix up to 1; offset 2 ran after it on the same lane and
+        // completes it up to 3. Only the end of each prefix is acknowledged.
+        InOrder acks = inOrder(otherKeyAck, lastAck);
+        acks.verify(otherKeyAck, timeout(5_000)).acknowledge();
+        acks.verify(lastAck, timeout(5_000)).acknowledge();
+        assertEquals(List.of("evt-1", "evt-3", "evt-0", "evt-2"), processed);
+        verifyNoInteractions(slowAck, sameKeyAck);
+    }
+
+    @Test
+    void shouldRetryFailedRecords_thenMoveOn() {
+        doThrow(new RuntimeException("DB down")).when(notificationService).processOrderCreated(any());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        listener.handleOrderCreated(record(0, "1", "evt-0"), acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(notificationService, times(2)).processOrderCreated(any());
+    }
+}
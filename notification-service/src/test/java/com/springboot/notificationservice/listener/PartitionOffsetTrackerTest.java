@@ -0,0 +1,62 @@
+package com.springboot.notificationservice.listener;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PartitionOffsetTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("order-created-topic", 0);
+    private static final TopicPartition OTHER = new TopicPartition("order-created-topic", 1);
+
+    private final PartitionOffsetTracker<String> tracker = new PartitionOffsetTracker<>();
+
+    @Test
+    void complete_shouldOnlyAdvanceOverTheContiguousCompletedPrefix() {
+        for (long offset = 10; offset <= 13; offset++) {
+            tracker.register(PARTITION, offset, "ack-" + offset);
+        }
+
+        // 11 and 12 finish first, 10 is still running
+        assertNull(tracker.complete(PARTITION, 11));
+        assertNull(tracker.complete(PARTITION, 12));
+        assertEquals(4, tracker.inFlight(PARTITION));
+        assertEquals(2, tracker.completedAhead(PARTITION));
+
+        // 10 completes: 10..12 are committable at once
+        assertEquals("ack-12", tracker.complete(PARTITION, 10));
+        assertEquals(1, tracker.inFlight(PARTITION));
+        assertEquals(0, tracker.completedAhead(PARTITION));
+
+        assertEquals("ack-13", tracker.complete(PARTITION, 13));
+        assertEquals(0, tracker.inFlight(PARTITION));
+    }
+
+    @Test
+    void complete_shouldTrackPartitionsIndependently() {
+        tracker.register(PARTITION, 5, "p0-5");
+        tracker.register(OTHER, 7, "p1-7");
+        tracker.register(PARTITION, 6, "p0-6");
+
+        assertEquals("p1-7", tracker.complete(OTHER, 7));
+        assertNull(tracker.complete(PARTITION, 6));
+        assertEquals("p0-6", tracker.complete(PARTITION, 5));
+    }
+
+    @Test
+    void complete_shouldIgnoreRecordsOfRevokedOrRepositionedPartitions() {
+        tracker.register(PARTITION, 1, "ack-1");
+        tracker.register(PARTITION, 2, "ack-2");
+        tracker.revoke(PARTITION);
+
+        assertNull(tracker.complete(PARTITION, 1));
+
+        // redelivered from offset 2 after a seek back
+        tracker.register(PARTITION, 3, "ack-3");
+        tracker.register(PARTITION, 2, "ack-2-again");
+        assertNull(tracker.complete(PARTITION, 3));
+        assertEquals("ack-2-again", tracker.complete(PARTITION, 2));
+    }
+}
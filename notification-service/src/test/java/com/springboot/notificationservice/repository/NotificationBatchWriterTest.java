@@ -0,0 +1,117 @@
+package com.springboot.notificationservice.repository;
+
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.dto.NotificationTypeEnum;
+import com.springboot.notificationservice.model.Notification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<Collection<DeliveryResult>> batches;
+
+    @Captor
+    private ArgumentCaptor<ParameterizedPreparedStatementSetter<DeliveryResult>> setters;
+
+    @InjectMocks
+    private NotificationBatchWriter batchWriter;
+
+    @Test
+    void insertAll_shouldChunkIntoMultiRowInsertIgnore_andSumAffectedRows() {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < NotificationBatchWriter.ROWS_PER_STATEMENT + 2; i++) {
+            notifications.add(Notification.builder()
+                    .eventId("evt-" + i)
+                    .orderId((long) i)
+                    .email("test@example.com")
+                    .type(NotificationTypeEnum.ORDER_CREATED)
+                    .channel(NotificationChannelEnum.SMS)
+                    .delivered(true)
+                    .message("SMS sent successfully")
+                    .build());
+        }
+        // the second chunk has one row that already exists
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(NotificationBatchWriter.ROWS_PER_STATEMENT)
+                .thenReturn(1);
+
+        int inserted = batchWriter.insertAll(notifications);
+
+        assertEquals(NotificationBatchWriter.ROWS_PER_STATEMENT + 1, inserted);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertTrue(sql.getAllValues().get(0).startsWith("INSERT IGNORE INTO notification"));
+        assertEquals(NotificationBatchWriter.ROWS_PER_STATEMENT * NotificationBatchWriter.COLUMNS_PER_ROW, args.getAllValues().get(0).length);
+        assertEquals(2 * NotificationBatchWriter.COLUMNS_PER_ROW, args.getAllValues().get(1).length);
+        assertEquals("SMS", args.getAllValues().get(1)[3]);
+        assertEquals("PENDING", args.getAllValues().get(1)[8]);
+    }
+
+    @Test
+    void insertAll_shouldNotTouchDatabase_whenNothingToInsert() {
+        assertEquals(0, batchWriter.insertAll(List.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordOutcomes_shouldWriteDeliveredAndFailedAsSeparateBatches() {
+        List<DeliveryResult> results = List.of(
+                new DeliveryResult(1L, true, "SMS sent successfully"),
+                new DeliveryResult(2L, false, "SMS failed to send: no response within 2000 ms"),
+                new DeliveryResult(3L, true, "SMS sent successfully"));
+
+        batchWriter.recordOutcomes(results, 5, 1_000, 300_000);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), batches.capture(), anyInt(),
+                setters.capture());
+        assertTrue(sql.getAllValues().get(0).contains("'DELIVERED'"));
+        assertEquals(List.of(1L, 3L), batches.getAllValues().get(0).stream().map(DeliveryResult::notificationId).toList());
+        assertTrue(sql.getAllValues().get(1).contains("IF(attempts >= ?, 'FAILED', 'PENDING')"));
+        assertEquals(List.of(2L), batches.getAllValues().get(1).stream().map(DeliveryResult::notificationId).toList());
+    }
+
+    @Test
+    void recordOutcomes_shouldRescheduleDeferredSends_withoutSpendingAnAttempt() {
+        List<DeliveryResult> results = List.of(
+                new DeliveryResult(1L, false, "EMAIL failed to send: bounced"),
+                DeliveryResult.deferred(2L, "EMAIL send deferred: circuit open", 800));
+
+        batchWriter.recordOutcomes(results, 5, 1_000, 300_000);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), batches.capture(), anyInt(),
+                setters.capture());
+        assertEquals(List.of(1L), batches.getAllValues().get(0).stream().map(DeliveryResult::notificationId).toList());
+        assertFalse(sql.getAllValues().get(1).contains("attempts"));
+        assertEquals(List.of(2L), batches.getAllValues().get(1).stream().map(DeliveryResult::notificationId).toList());
+    }
+}
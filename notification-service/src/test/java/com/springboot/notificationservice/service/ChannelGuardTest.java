@@ -0,0 +1,116 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.ChannelGuardStats;
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChannelGuardTest {
+
+    private static final NotificationChannelEnum SMS = NotificationChannelEnum.SMS;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+
+    private ChannelGuard channelGuard;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.notification.channel.sms.max-concurrent", "2");
+        channelGuard = new ChannelGuard(environment, notificationRepository);
+        ReflectionTestUtils.setField(channelGuard, "workersPerChannel", 8);
+        ReflectionTestUtils.setField(channelGuard, "failureThreshold", 3);
+        ReflectionTestUtils.setField(channelGuard, "openMs", 100L);
+        ReflectionTestUtils.setField(channelGuard, "maxOpenMs", 1_000L);
+        channelGuard.start();
+    }
+
+    @Test
+    void acquire_shouldRejectSends_whenAllSlotsAreBusy() throws InterruptedException {
+        assertEquals(ChannelGuard.Admission.ADMITTED, channelGuard.acquire(SMS, 0));
+        assertEquals(ChannelGuard.Admission.ADMITTED, channelGuard.acquire(SMS, 0));
+        assertEquals(ChannelGuard.Admission.BULKHEAD_FULL, channelGuard.acquire(SMS, 10));
+
+        channelGuard.release(SMS);
+
+        assertEquals(ChannelGuard.Admission.ADMITTED, channelGuard.acquire(SMS, 0));
+        // other channels have slots of their own
+        assertEquals(ChannelGuard.Admission.ADMITTED, channelGuard.acquire(NotificationChannelEnum.EMAIL, 0));
+    }
+
+    @Test
+    void circuit_shouldOpenAfterConsecutiveFailures_andCloseAfterASuccessfulProbe() throws InterruptedException {
+        channelGuard.recordFailure(SMS);
+        channelGuard.recordFailure(SMS);
+        channelGuard.recordSuccess(SMS);
+        channelGuard.recordFailure(SMS);
+        channelGuard.recordFailure(SMS);
+        assertTrue(channelGuard.allowClaim(SMS));
+
+        channelGuard.recordFailure(SMS);
+
+        assertFalse(channelGuard.allowClaim(SMS));
+        assertEquals(ChannelGuard.Admission.CIRCUIT_OPEN, channelGuard.acquire(SMS, 0));
+        assertTrue(channelGuard.remainingOpenMs(SMS) > 0);
+
+        Thread.sleep(150);
+
+        assertTrue(channelGuard.allowClaim(SMS));
+        assertEquals(1, channelGuard.claimLimit(SMS, 50));
+        channelGuard.recordSuccess(SMS);
+        assertEquals(50, channelGuard.claimLimit(SMS, 50));
+        assertEquals(ChannelCircuitBreaker.State.CLOSED, channelGuard.getStats().get(0).getCircuitState());
+    }
+
+    @Test
+    void circuit_shouldReopenForLonger_whenTheProbeFails() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            channelGuard.recordFailure(SMS);
+        }
+        Thread.sleep(150);
+        assertTrue(channelGuard.allowClaim(SMS));
+
+        channelGuard.recordFailure(SMS);
+
+        assertFalse(channelGuard.allowClaim(SMS));
+        assertTrue(channelGuard.remainingOpenMs(SMS) > 100);
+    }
+
+    @Test
+    void getStats_shouldReportRejectionsAndQueuedNotifications() throws InterruptedException {
+        when(notificationRepository.countByChannelAndStatus(SMS, DeliveryStatusEnum.PENDING)).thenReturn(42L);
+        channelGuard.acquire(SMS, 0);
+        channelGuard.acquire(SMS, 0);
+        channelGuard.acquire(SMS, 0);
+        channelGuard.recordRateLimited(SMS, 1_000);
+        for (int i = 0; i < 3; i++) {
+            channelGuard.recordFailure(SMS);
+        }
+        channelGuard.allowClaim(SMS);
+
+        ChannelGuardStats stats = channelGuard.getStats().get(0);
+
+        assertEquals(SMS, stats.getChannel());
+        assertEquals(0.0, stats.getRatePerSecond());
+        assertEquals(2, stats.getMaxConcurrent());
+        assertEquals(2, stats.getInFlight());
+        assertEquals(42, stats.getQueued());
+        assertEquals(2, stats.getAdmitted());
+        assertEquals(1, stats.getRejectedBulkheadFull());
+        assertEquals(1, stats.getRateLimited());
+        assertEquals(3, stats.getFailures());
+        assertEquals(1, stats.getClaimsSkipped());
+        assertEquals(ChannelCircuitBreaker.State.OPEN, stats.getCircuitState());
+        assertEquals(1, stats.getCircuitOpenings());
+    }
+}
@@ -0,0 +1,151 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.dto.event.NotificationsStored;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryEngineTest {
+
+    private static final NotificationDeliveryService.BatchResult EMPTY = new NotificationDeliveryService.BatchResult(0, false);
+    private static final NotificationDeliveryService.BatchResult FULL = new NotificationDeliveryService.BatchResult(50, true);
+
+    @Mock
+    private NotificationDeliveryService deliveryService;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @InjectMocks
+    private NotificationDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "minIdleWaitMs", 10L);
+        ReflectionTestUtils.setField(engine, "maxIdleWaitMs", 10_000L);
+        ReflectionTestUtils.setField(engine, "shutdownTimeoutMs", 5_000L);
+        lenient().when(notificationDispatcher.channels()).thenReturn(List.of(NotificationChannelEnum.SMS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void nextIdleWait_shouldDoubleUpToTheMaximum_andResetOnceWorkIsClaimed() {
+        assertEquals(100, NotificationDeliveryEngine.nextIdleWaitMs(50, 0, 50, 2000));
+        assertEquals(2000, NotificationDeliveryEngine.nextIdleWaitMs(1600, 0, 50, 2000));
+        assertEquals(2000, NotificationDeliveryEngine.nextIdleWaitMs(2000, 0, 50, 2000));
+        assertEquals(50, NotificationDeliveryEngine.nextIdleWaitMs(2000, 3, 50, 2000));
+    }
+
+    @Test
+    void idleWorker_shouldPollLessAndLessOften() throws Exception {
+        when(deliveryService.deliverBatch(NotificationChannelEnum.SMS)).thenReturn(EMPTY);
+
+        engine.start();
+        Thread.sleep(600);
+
+        // 10, 20, 40, ... ms between rounds: about seven rounds, instead of sixty at a fixed 10 ms
+        verify(deliveryService, atMost(10)).deliverBatch(NotificationChannelEnum.SMS);
+        verify(deliveryService, atLeast(4)).deliverBatch(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void idleWorker_whenClaimsFail_shouldBackOffAndKeepRunning() throws Exception {
+        when(deliveryService.deliverBatch(NotificationChannelEnum.SMS)).thenThrow(new IllegalStateException("DB down"));
+
+        engine.start();
+        Thread.sleep(600);
+
+        verify(deliveryService, atMost(10)).deliverBatch(NotificationChannelEnum.SMS);
+        verify(deliveryService, atLeast(4)).deliverBatch(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void worker_shouldKeepDeliveringWhileBatchesComeBackFull() {
+        when(deliveryService.deliverBatch(NotificationChannelEnum.SMS)).thenReturn(FULL, FULL, EMPTY);
+
+        engine.start();
+
+        verify(deliveryService, timeout(1000).times(3)).deliverBatch(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void notificationsStored_shouldWakeABackedOffWorker() {
+        ReflectionTestUtils.setField(engine, "minIdleWaitMs", 10_000L);
+        when(deliveryService.deliverBatch(NotificationChannelEnum.SMS)).thenReturn(EMPTY);
+        engine.start();
+        verify(deliveryService, timeout(1000).times(1)).deliverBatch(NotificationChannelEnum.SMS);
+
+        engine.onNotificationsStored(new NotificationsStored(List.of("evt-1")));
+
+        verify(deliveryService, timeout(1000).times(2)).deliverBatch(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void stop_shouldLetTheBatchInFlightFinish_andClaimNoMore() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        when(deliveryService.deliverBatch(NotificationChannelEnum.SMS)).thenAnswer(invocation -> {
+            worker.set(Thread.currentThread());
+            sending.countDown();
+            Thread.sleep(200);
+            finished.set(true);
+            // a full batch would normally be followed by the next one
+            return FULL;
+        });
+        engine.start();
+        assertTrue(sending.await(1, TimeUnit.SECONDS));
+
+        engine.stop();
+
+        assertTrue(finished.get());
+        assertFalse(engine.isRunning());
+        assertFalse(worker.get().isAlive());
+        verify(deliveryService, times(1)).deliverBatch(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void stop_shouldGiveUpOnAStuckWorker_afterTheShutdownTimeout() throws Exception {
+        ReflectionTestUtils.setField(engine, "shutdownTimeoutMs", 100L);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(deliveryService.deliverBatch(any())).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return EMPTY;
+        });
+        engine.start();
+        assertTrue(sending.await(1, TimeUnit.SECONDS));
+
+        long startedNs = System.nanoTime();
+        engine.stop();
+        long stopMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNs);
+
+        assertTrue(stopMs < 2_000, "stop took " + stopMs + " ms");
+        assertFalse(engine.isRunning());
+        release.countDown();
+    }
+}
@@ -0,0 +1,150 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.model.Notification;
+import com.springboot.notificationservice.repository.NotificationBatchWriter;
+import com.springboot.notificationservice.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private ChannelGuard channelGuard;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NotificationDeliveryService deliveryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(deliveryService, "claimSize", 2);
+        ReflectionTestUtils.setField(deliveryService, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(deliveryService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(deliveryService, "baseDelayMs", 1_000L);
+        ReflectionTestUtils.setField(deliveryService, "maxDelayMs", 300_000L);
+    }
+
+    private static Notification pending(Long id) {
+        return Notification.builder().id(id).eventId("evt-" + id).channel(NotificationChannelEnum.EMAIL).build();
+    }
+
+    @Test
+    void deliverBatch_shouldLeaseClaimedRows_sendOutsideTheClaim_andRecordOutcomes() {
+        Notification first = pending(1L);
+        Notification second = pending(2L);
+        DeliveryResult delivered = new DeliveryResult(1L, true, "EMAIL sent successfully");
+        DeliveryResult failed = new DeliveryResult(2L, false, "EMAIL failed to send: bounced");
+
+        when(channelGuard.allowClaim(NotificationChannelEnum.EMAIL)).thenReturn(true);
+        when(channelGuard.claimLimit(NotificationChannelEnum.EMAIL, 2)).thenReturn(2);
+        when(notificationRepository.findDueForUpdate("EMAIL", 2)).thenReturn(List.of(first, second));
+        when(notificationDispatcher.send(first)).thenReturn(CompletableFuture.completedFuture(delivered));
+        when(notificationDispatcher.send(second)).thenReturn(CompletableFuture.completedFuture(failed));
+
+        NotificationDeliveryService.BatchResult result = deliveryService.deliverBatch(NotificationChannelEnum.EMAIL);
+
+        assertEquals(2, result.claimed());
+        assertTrue(result.full());
+        InOrder inOrder = inOrder(notificationRepository, transactionManager, notificationDispatcher, notificationBatchWriter);
+        inOrder.verify(notificationRepository).leaseUntil(List.of(1L, 2L), 60_000L);
+        // the claim is committed before any provider is called
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(notificationDispatcher).send(first);
+        inOrder.verify(notificationBatchWriter).recordOutcomes(List.of(delivered, failed), 5, 1_000L, 300_000L);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void deliverBatch_shouldStillRecordDeliveredOutcomes_whenAnotherSendCouldNotStart() {
+        Notification first = pending(1L);
+        Notification second = pending(2L);
+        DeliveryResult delivered = new DeliveryResult(1L, true, "EMAIL sent successfully");
+
+        when(channelGuard.allowClaim(NotificationChannelEnum.EMAIL)).thenReturn(true);
+        when(channelGuard.claimLimit(NotificationChannelEnum.EMAIL, 2)).thenReturn(2);
+        when(notificationRepository.findDueForUpdate("EMAIL", 2)).thenReturn(List.of(first, second));
+        when(notificationDispatcher.send(first)).thenReturn(CompletableFuture.completedFuture(delivered));
+        when(notificationDispatcher.send(second)).thenReturn(
+                CompletableFuture.failedFuture(new IllegalStateException("Notification dispatcher is stopped")));
+
+        deliveryService.deliverBatch(NotificationChannelEnum.EMAIL);
+
+        verify(notificationBatchWriter).recordOutcomes(List.of(delivered,
+                        DeliveryResult.deferred(2L, "EMAIL send deferred: Notification dispatcher is stopped", 1_000L)),
+                5, 1_000L, 300_000L);
+    }
+
+    @Test
+    void deliverBatch_shouldDoNothing_whenNothingIsDue() {
+        when(channelGuard.allowClaim(NotificationChannelEnum.SMS)).thenReturn(true);
+        when(channelGuard.claimLimit(NotificationChannelEnum.SMS, 2)).thenReturn(2);
+        when(notificationRepository.findDueForUpdate("SMS", 2)).thenReturn(List.of());
+
+        NotificationDeliveryService.BatchResult result = deliveryService.deliverBatch(NotificationChannelEnum.SMS);
+
+        assertEquals(0, result.claimed());
+        assertFalse(result.full());
+        verify(notificationRepository, never()).leaseUntil(anyList(), anyLong());
+        verifyNoInteractions(notificationDispatcher);
+        verify(notificationBatchWriter, never()).recordOutcomes(anyList(), anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void deliverBatch_shouldClaimNothing_whileTheCircuitIsOpen() {
+        when(channelGuard.allowClaim(NotificationChannelEnum.FCM)).thenReturn(false);
+
+        NotificationDeliveryService.BatchResult result = deliveryService.deliverBatch(NotificationChannelEnum.FCM);
+
+        assertEquals(0, result.claimed());
+        verifyNoInteractions(notificationRepository, notificationDispatcher, notificationBatchWriter, transactionManager);
+    }
+
+    @Test
+    void deliverBatch_shouldClaimASingleProbe_whileTheCircuitIsHalfOpen() {
+        Notification probe = pending(1L);
+        DeliveryResult delivered = new DeliveryResult(1L, true, "EMAIL sent successfully");
+        when(channelGuard.allowClaim(NotificationChannelEnum.EMAIL)).thenReturn(true);
+        when(channelGuard.claimLimit(NotificationChannelEnum.EMAIL, 2)).thenReturn(1);
+        when(notificationRepository.findDueForUpdate("EMAIL", 1)).thenReturn(List.of(probe));
+        when(notificationDispatcher.send(probe)).thenReturn(CompletableFuture.completedFuture(delivered));
+
+        NotificationDeliveryService.BatchResult result = deliveryService.deliverBatch(NotificationChannelEnum.EMAIL);
+
+        assertEquals(1, result.claimed());
+        assertFalse(result.full());
+        verify(notificationBatchWriter).recordOutcomes(List.of(delivered), 5, 1_000L, 300_000L);
+    }
+}
@@ -0,0 +1,193 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.channel.NotificationChannel;
+import com.springboot.notificationservice.dto.DeliveryResult;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.exception.ChannelRateLimitedException;
+import com.springboot.notificationservice.model.Notification;
+import com.springboot.notificationservice.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class NotificationDispatcherTest {
+
+    private NotificationDispatcher dispatcher;
+
+    private ChannelGuard channelGuard;
+
+    private NotificationDispatcher dispatcher(int workersPerChannel, NotificationChannel... channels) {
+        return dispatcher(new MockEnvironment(), workersPerChannel, channels);
+    }
+
+    private NotificationDispatcher dispatcher(MockEnvironment environment, int workersPerChannel,
+                                              NotificationChannel... channels) {
+        channelGuard = new ChannelGuard(environment, mock(NotificationRepository.class));
+        ReflectionTestUtils.setField(channelGuard, "workersPerChannel", workersPerChannel);
+        ReflectionTestUtils.setField(channelGuard, "failureThreshold", 2);
+        ReflectionTestUtils.setField(channelGuard, "openMs", 60_000L);
+        ReflectionTestUtils.setField(channelGuard, "maxOpenMs", 60_000L);
+        channelGuard.start();
+        dispatcher = new NotificationDispatcher(List.of(channels), channelGuard);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void send_shouldRunChannelsOnTheirOwnPools_concurrently() {
+        dispatcher(1,
+                channel(NotificationChannelEnum.FCM, 300, 1_000, null),
+                channel(NotificationChannelEnum.SMS, 300, 1_000, null),
+                channel(NotificationChannelEnum.EMAIL, 300, 1_000, null));
+
+        long start = System.nanoTime();
+        List<CompletableFuture<DeliveryResult>> attempts = List.of(
+                dispatcher.send(notification(1L, NotificationChannelEnum.SMS)),
+                dispatcher.send(notification(2L, NotificationChannelEnum.EMAIL)),
+                dispatcher.send(notification(3L, NotificationChannelEnum.FCM)));
+        List<DeliveryResult> results = attempts.stream().map(CompletableFuture::join).toList();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // one thread per channel: sequential sends would take at least 900 ms
+        assertTrue(elapsedMs < 800, "dispatch took " + elapsedMs + " ms");
+        assertTrue(results.stream().allMatch(DeliveryResult::delivered));
+        assertEquals(new DeliveryResult(1L, true, "SMS sent successfully"), results.get(0));
+        assertEquals(List.of(NotificationChannelEnum.SMS, NotificationChannelEnum.EMAIL, NotificationChannelEnum.FCM),
+                dispatcher.channels());
+    }
+
+    @Test
+    void send_shouldNotCountQueueTimeAgainstTheChannelTimeout() {
+        dispatcher(1, channel(NotificationChannelEnum.SMS, 300, 500, null));
+
+        CompletableFuture<DeliveryResult> first = dispatcher.send(notification(1L, NotificationChannelEnum.SMS));
+        CompletableFuture<DeliveryResult> second = dispatcher.send(notification(2L, NotificationChannelEnum.SMS));
+
+        assertTrue(first.join().delivered());
+        // waited 300 ms for the only thread, then took 300 ms itself
+        assertTrue(second.join().delivered());
+    }
+
+    @Test
+    void send_shouldReportTimeoutsFailuresAndMissingSenders() {
+        dispatcher(2,
+                channel(NotificationChannelEnum.EMAIL, 2_000, 100, null),
+                channel(NotificationChannelEnum.FCM, 0, 1_000, "device token expired"));
+
+        DeliveryResult timedOut = dispatcher.send(notification(1L, NotificationChannelEnum.EMAIL)).join();
+        DeliveryResult failed = dispatcher.send(notification(2L, NotificationChannelEnum.FCM)).join();
+        DeliveryResult unknown = dispatcher.send(notification(3L, NotificationChannelEnum.SMS)).join();
+
+        assertFalse(timedOut.delivered());
+        assertEquals("EMAIL failed to send: no response within 100 ms", timedOut.message());
+        assertFalse(failed.delivered());
+        assertEquals("FCM failed to send: device token expired", failed.message());
+        assertFalse(unknown.delivered());
+        assertEquals("SMS failed to send: no sender registered", unknown.message());
+    }
+
+    @Test
+    void send_shouldPaceSendsAtTheChannelRate() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.notification.channel.sms.rate-per-second", "20")
+                .withProperty("app.notification.channel.sms.burst", "1");
+        dispatcher(environment, 4, channel(NotificationChannelEnum.SMS, 0, 1_000, null));
+
+        long start = System.nanoTime();
+        for (long id = 1; id <= 5; id++) {
+            assertTrue(dispatcher.send(notification(id, NotificationChannelEnum.SMS)).join().delivered());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // one token up front, then one every 50 ms
+        assertTrue(elapsedMs >= 190, "5 sends took " + elapsedMs + " ms");
+        assertEquals(4, channelGuard.getStats().get(0).getThrottled());
+    }
+
+    @Test
+    void send_shouldDeferRateLimitedSends_withoutCountingThemAsFailures() {
+        NotificationChannel quotaExceeded = channel(NotificationChannelEnum.EMAIL, 0, 1_000, null);
+        dispatcher(2, new NotificationChannel() {
+            @Override
+            public NotificationChannelEnum channel() {
+                return quotaExceeded.channel();
+            }
+
+            @Override
+            public long timeoutMs() {
+                return quotaExceeded.timeoutMs();
+            }
+
+            @Override
+            public String send(Notification notification) {
+                throw new ChannelRateLimitedException("429 Too Many Requests", 2_000);
+            }
+        });
+
+        DeliveryResult result = dispatcher.send(notification(1L, NotificationChannelEnum.EMAIL)).join();
+
+        assertTrue(result.deferred());
+        assertEquals(new DeliveryResult(1L, false, "EMAIL send deferred: 429 Too Many Requests", 2_000), result);
+        assertEquals(0, channelGuard.getStats().get(1).getFailures());
+        assertEquals(1, channelGuard.getStats().get(1).getRateLimited());
+    }
+
+    @Test
+    void send_shouldFailFast_onceTheCircuitIsOpen() {
+        dispatcher(2, channel(NotificationChannelEnum.FCM, 0, 1_000, "service unavailable"));
+
+        assertFalse(dispatcher.send(notification(1L, NotificationChannelEnum.FCM)).join().deferred());
+        assertFalse(dispatcher.send(notification(2L, NotificationChannelEnum.FCM)).join().deferred());
+        DeliveryResult rejected = dispatcher.send(notification(3L, NotificationChannelEnum.FCM)).join();
+
+        assertTrue(rejected.deferred());
+        assertEquals("FCM send deferred: circuit open", rejected.message());
+        assertFalse(channelGuard.allowClaim(NotificationChannelEnum.FCM));
+    }
+
+    private static Notification notification(Long id, NotificationChannelEnum channel) {
+        return Notification.builder()
+                .id(id)
+                .eventId("evt-" + id)
+                .channel(channel)
+                .build();
+    }
+
+    private static NotificationChannel channel(NotificationChannelEnum channel, long latencyMs,
+                                               long timeoutMs, String failure) {
+        return new NotificationChannel() {
+            @Override
+            public NotificationChannelEnum channel() {
+                return channel;
+            }
+
+            @Override
+            public long timeoutMs() {
+                return timeoutMs;
+            }
+
+            @Override
+            public String send(Notification notification) throws Exception {
+                Thread.sleep(latencyMs);
+                if (failure != null) {
+                    throw new IllegalStateException(failure);
+                }
+                return channel + " sent successfully";
+            }
+        };
+    }
+}
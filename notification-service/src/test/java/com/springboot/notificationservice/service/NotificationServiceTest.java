@@ -1,19 +1,32 @@
 package com.springboot.notificationservice.service;
 
-import com.springboot.notificationservice.dto.event.OrderCreated;
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.notificationservice.dto.NotificationChannelEnum;
+import com.springboot.notificationservice.dto.DeliveryStatusEnum;
+import com.springboot.notificationservice.dto.event.NotificationsStored;
 import com.springboot.notificationservice.model.Notification;
+import com.springboot.notificationservice.repository.NotificationBatchWriter;
 import com.springboot.notificationservice.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,10 +35,34 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @Mock
+    private RecentEventIdFilter recentEventIdFilter;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private NotificationService notificationService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(recentEventIdFilter.check(any()))
+                .thenReturn(RecentEventIdFilter.Verdict.NEW);
+        lenient().when(notificationDispatcher.channels())
+                .thenReturn(List.of(NotificationChannelEnum.SMS, NotificationChannelEnum.EMAIL, NotificationChannelEnum.FCM));
+    }
+
     @Test
+    @SuppressWarnings("unchecked")
     void shouldCreateNotificationSuccessfully() {
         OrderCreated event = new OrderCreated(
                 UUID.randomUUID().toString(),
@@ -36,17 +73,27 @@ class NotificationServiceTest {
                 2
         );
 
-        when(notificationRepository.existsByEventId(any()))
-                .thenReturn(false);
+        when(notificationBatchWriter.insertAll(anyList()))
+                .thenReturn(3);
 
         notificationService.processOrderCreated(event);
 
-        verify(notificationRepository, times(3))
-                .save(any(Notification.class));
+        ArgumentCaptor<List<Notification>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, times(1)).insertAll(inserted.capture());
+        assertEquals(List.of(NotificationChannelEnum.SMS, NotificationChannelEnum.EMAIL, NotificationChannelEnum.FCM),
+                inserted.getValue().stream().map(Notification::getChannel).toList());
+        verify(notificationRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new NotificationsStored(List.of(event.eventId())));
+        // only queued: nothing is sent while the record is processed
+        assertTrue(inserted.getValue().stream().allMatch(n -> n.getStatus() == DeliveryStatusEnum.PENDING && !n.getDelivered()));
+        InOrder inOrder = inOrder(transactionManager, notificationBatchWriter);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(notificationBatchWriter).insertAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
     }
 
     @Test
-    void shouldNotCreateDuplicateNotification_whenEventAlreadyProcessed() {
+    void shouldNotQueryBeforeInsert_whenEventAlreadyProcessed() {
         OrderCreated event = new OrderCreated(
                 "event-123",
                 Instant.now(),
@@ -56,16 +103,18 @@ class NotificationServiceTest {
                 2
         );
 
-        when(notificationRepository.existsByEventId("event-123"))
-                .thenReturn(true);
+        // every row hits the unique (event_id, channel) key and is ignored
+        when(notificationBatchWriter.insertAll(anyList()))
+                .thenReturn(0);
 
         notificationService.processOrderCreated(event);
 
-        verify(notificationRepository, never()).save(any());
+        verify(notificationBatchWriter, times(1)).insertAll(anyList());
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
-    void shouldMarkNotificationAsFailed_whenExceptionOccurs() {
+    void shouldPropagateFailure_whenInsertFails() {
         OrderCreated event = new OrderCreated(
                 "event-123",
                 Instant.now(),
@@ -75,37 +124,76 @@ class NotificationServiceTest {
                 2
         );
 
-        when(notificationRepository.existsByEventId(any()))
-                .thenReturn(false);
-
-        when(notificationRepository.save(any()))
+        when(notificationBatchWriter.insertAll(anyList()))
                 .thenThrow(new RuntimeException("DB error"));
 
         assertThrows(RuntimeException.class,
                 () -> notificationService.processOrderCreated(event));
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batch_shouldDropDuplicatesWithinBatch_andInsertOnce() {
+        OrderCreated first = new OrderCreated("evt-1", Instant.now(), 1L, "test@example.com", "P123", 2);
+        OrderCreated second = new OrderCreated("evt-2", Instant.now(), 2L, "test@example.com", "P456", 1);
+
+        // the filter has not seen evt-2, so its rows reach the writer; another consumer stored
+        // them concurrently and the insert-ignore skips all three, leaving only evt-1's rows
+        when(notificationBatchWriter.insertAll(anyList()))
+                .thenReturn(3);
+
+        int inserted = notificationService.processOrderCreatedBatch(List.of(first, second, first));
+
+        assertEquals(3, inserted);
+        ArgumentCaptor<List<Notification>> notifications = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, times(1)).insertAll(notifications.capture());
+        // the repeated evt-1 is dropped before the insert; evt-2 is only filtered out by the unique key
+        assertEquals(List.of("evt-1", "evt-1", "evt-1", "evt-2", "evt-2", "evt-2"),
+                notifications.getValue().stream().map(Notification::getEventId).toList());
+        verify(recentEventIdFilter, times(1)).check("evt-1");
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
-    void shouldBeIdempotent_whenSameEventProcessedTwice() {
+    void batch_shouldSkipInsert_whenBatchIsEmpty() {
+        assertEquals(0, notificationService.processOrderCreatedBatch(List.of()));
 
-        OrderCreated event = new OrderCreated(
-                "event-123",
-                Instant.now(),
-                1L,
-                "test@example.com",
-                "P123",
-                2
-        );
+        verifyNoInteractions(notificationRepository, notificationBatchWriter);
+    }
+
+    @Test
+    void shouldSkipWithoutQuery_whenFilterKnowsEventWasStored() {
+        OrderCreated event = new OrderCreated("event-123", Instant.now(), 1L, "test@example.com", "P123", 2);
 
-        when(notificationRepository.existsByEventId("event-123"))
-                .thenReturn(true)
-                .thenReturn(false);
+        when(recentEventIdFilter.check("event-123"))
+                .thenReturn(RecentEventIdFilter.Verdict.DUPLICATE);
 
         notificationService.processOrderCreated(event);
-        notificationService.processOrderCreated(event);
 
-        verify(notificationRepository, times(3))
-                .save(any());
+        verifyNoInteractions(notificationRepository, notificationBatchWriter, eventPublisher);
     }
 
+    @Test
+    void batch_shouldQueryOnlyPossibleHits_andReportFalsePositives() {
+        OrderCreated fresh = new OrderCreated("evt-1", Instant.now(), 1L, "test@example.com", "P123", 2);
+        OrderCreated stored = new OrderCreated("evt-2", Instant.now(), 2L, "test@example.com", "P456", 1);
+        OrderCreated falsePositive = new OrderCreated("evt-3", Instant.now(), 3L, "test@example.com", "P789", 1);
+
+        when(recentEventIdFilter.check("evt-2"))
+                .thenReturn(RecentEventIdFilter.Verdict.UNKNOWN);
+        when(recentEventIdFilter.check("evt-3"))
+                .thenReturn(RecentEventIdFilter.Verdict.UNKNOWN);
+        when(notificationRepository.findExistingEventIds(List.of("evt-2", "evt-3")))
+                .thenReturn(List.of("evt-2"));
+        when(notificationBatchWriter.insertAll(anyList()))
+                .thenReturn(6);
+
+        assertEquals(6, notificationService.processOrderCreatedBatch(List.of(fresh, stored, falsePositive)));
+
+        verify(recentEventIdFilter).recordDatabaseResult("evt-2", true);
+        verify(recentEventIdFilter).recordDatabaseResult("evt-3", false);
+        verify(eventPublisher).publishEvent(new NotificationsStored(List.of("evt-1", "evt-3")));
+    }
 }
@@ -0,0 +1,110 @@
+package com.springboot.notificationservice.service;
+
+import com.springboot.notificationservice.dto.RecentEventIdFilterStats;
+import com.springboot.notificationservice.service.RecentEventIdFilter.Verdict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentEventIdFilterTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private RecentEventIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = filter(10_000, 100);
+    }
+
+    private RecentEventIdFilter filter(int expectedEventsPerWindow, int recentCacheSize) {
+        RecentEventIdFilter recentEventIdFilter = new RecentEventIdFilter();
+        ReflectionTestUtils.setField(recentEventIdFilter, "enabled", true);
+        ReflectionTestUtils.setField(recentEventIdFilter, "windowMs", WINDOW_MS);
+        ReflectionTestUtils.setField(recentEventIdFilter, "expectedEventsPerWindow", expectedEventsPerWindow);
+        ReflectionTestUtils.setField(recentEventIdFilter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(recentEventIdFilter, "recentCacheSize", recentCacheSize);
+        recentEventIdFilter.init();
+        return recentEventIdFilter;
+    }
+
+    @Test
+    void shouldAnswerNew_forUnseenIds_andDuplicate_forRecentlyStoredIds() {
+        long now = System.currentTimeMillis();
+
+        assertEquals(Verdict.NEW, filter.check("evt-1", now));
+        filter.remember("evt-1", now);
+
+        assertEquals(Verdict.DUPLICATE, filter.check("evt-1", now + 1));
+        assertEquals(Verdict.NEW, filter.check("evt-2", now + 1));
+    }
+
+    @Test
+    void shouldFallBackToDatabase_whenIdLeftTheExactCache() {
+        RecentEventIdFilter small = filter(10_000, 2);
+        long now = System.currentTimeMillis();
+        small.remember("evt-1", now);
+        small.remember("evt-2", now);
+        small.remember("evt-3", now);
+
+        // still in the Bloom filter, but evicted from the two-entry LRU
+        assertEquals(Verdict.UNKNOWN, small.check("evt-1", now));
+        assertEquals(Verdict.DUPLICATE, small.check("evt-3", now));
+    }
+
+    @Test
+    void shouldForgetIds_afterTheWindowHasPassed() {
+        long now = System.currentTimeMillis();
+        filter.remember("evt-1", now);
+
+        filter.check("evt-2", now + WINDOW_MS / 2);
+        assertEquals(Verdict.DUPLICATE, filter.check("evt-1", now + WINDOW_MS / 2 + 1));
+
+        assertEquals(Verdict.NEW, filter.check("evt-1", now + WINDOW_MS + 1));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget_andMemoryFixed_underSustainedLoad() {
+        RecentEventIdFilter loaded = filter(20_000, 100);
+        long memory = loaded.getStats().getBloomMemoryBytes();
+        long now = System.currentTimeMillis();
+
+        // five windows' worth of ids: generations rotate on insertion count
+        for (int i = 0; i < 50_000; i++) {
+            loaded.remember("stored-" + i, now);
+        }
+        int possibleHits = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (loaded.check("new-" + i, now) != Verdict.NEW) {
+                possibleHits++;
+            }
+        }
+
+        RecentEventIdFilterStats stats = loaded.getStats();
+        // two generations at 1% each
+        assertTrue(possibleHits < 300, "possible hits: " + possibleHits);
+        assertEquals(memory, stats.getBloomMemoryBytes());
+        assertEquals(RecentEventIdFilter.GENERATIONS, stats.getBloomGenerations());
+        assertTrue(stats.getCurrentGenerationInsertions() <= 10_000);
+        assertEquals(100, stats.getRecentCacheSize());
+    }
+
+    @Test
+    void shouldCountDatabaseResults() {
+        long now = System.currentTimeMillis();
+        filter.check("evt-1", now);
+        filter.recordDatabaseResult("evt-2", true);
+        filter.recordDatabaseResult("evt-3", false);
+
+        RecentEventIdFilterStats stats = filter.getStats();
+        assertEquals(1, stats.getDefinitelyNew());
+        assertEquals(1, stats.getConfirmedDuplicates());
+        assertEquals(1, stats.getFalsePositives());
+        assertEquals(0.5, stats.getFalsePositiveRate());
+        // confirmed duplicates are remembered
+        assertEquals(Verdict.DUPLICATE, filter.check("evt-2"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.springboot.notificationservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserve_shouldHandOutTheBurst_thenSpaceCallersAtTheRate() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        // empty: each further token is 100 ms behind the previous one
+        assertEquals(100 * MS, bucket.reserve());
+        assertEquals(200 * MS, bucket.reserve());
+
+        clock.addAndGet(200 * MS);
+        assertEquals(100 * MS, bucket.reserve());
+    }
+
+    @Test
+    void reserve_shouldNotSaveUpMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        clock.addAndGet(10_000 * MS);
+
+        assertEquals(2.0, bucket.availableTokens());
+        bucket.reserve();
+        bucket.reserve();
+        assertEquals(100 * MS, bucket.reserve());
+    }
+
+    @Test
+    void pause_shouldHoldBackTokens_forTheRetryAfter() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+
+        bucket.pause(1_000);
+
+        assertEquals(0.0, bucket.availableTokens());
+        assertEquals(1_100 * MS, bucket.reserve());
+        clock.addAndGet(1_100 * MS);
+        assertEquals(100 * MS, bucket.reserve());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveRates() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+    }
+}
@@ -0,0 +1,28 @@
+package com.springboot.orderservice.controller;
+
+import com.springboot.orderservice.dto.ApiResponse;
+import com.springboot.orderservice.dto.ProducerStats;
+import com.springboot.orderservice.service.ProducerStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/kafka")
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaProducerController {
+
+    private final ProducerStatsService producerStatsService;
+
+    @GetMapping("/producer")
+    public ResponseEntity<ApiResponse<ProducerStats>> getProducerStats() {
+        log.info("GET /api/v1/kafka/producer - Fetching producer profile and metrics");
+        return ResponseEntity.ok(
+                ApiResponse.success("Producer stats fetched successfully", producerStatsService.getStats())
+        );
+    }
+}
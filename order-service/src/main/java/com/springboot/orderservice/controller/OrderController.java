@@ -1,17 +1,25 @@
 package com.springboot.orderservice.controller;
 
 import com.springboot.orderservice.dto.ApiResponse;
+import com.springboot.orderservice.dto.BulkOrderItemResult;
+import com.springboot.orderservice.dto.BulkOrderResponse;
 import com.springboot.orderservice.dto.OrderRequest;
 import com.springboot.orderservice.dto.PagedResponse;
 import com.springboot.orderservice.model.Order;
+import com.springboot.orderservice.service.OrderGroupCommitter;
+import com.springboot.orderservice.service.OrderImportService;
 import com.springboot.orderservice.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,17 +30,53 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderImportService orderImportService;
+    private final OrderGroupCommitter orderGroupCommitter;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Order>> createOrder(
             @Valid @RequestBody OrderRequest request) {
         log.info("POST /api/orders - Creating order");
-        Order response = orderService.createOrder(request);
+        Order response = orderGroupCommitter.isEnabled()
+                ? orderGroupCommitter.createOrder(request)
+                : orderService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 ApiResponse.success("Order created successfully", response)
         );
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BulkOrderResponse>> createOrders(
+            @RequestBody List<OrderRequest> requests) {
+        log.info("POST /api/orders/batch - Creating order batch");
+        List<BulkOrderItemResult> results = orderService.createOrders(requests);
+        BulkOrderResponse response = BulkOrderResponse.of(results);
+
+        if (response.getRejectedCount() == 0) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(
+                    ApiResponse.success("Orders created successfully", response)
+            );
+        }
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(
+                ApiResponse.success("Order batch processed with rejected items", response)
+        );
+    }
+
+    @PostMapping(value = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importOrders(HttpServletRequest request) {
+        log.info("POST /api/orders/import - Streaming NDJSON order import");
+        // the default MVC async timeout (about 30 s) would cut large imports off mid-stream
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(orderImportService.getTimeoutMs() > 0 ? orderImportService.getTimeoutMs() : -1);
+        StreamingResponseBody body = output ->
+                orderImportService.importOrders(request.getInputStream(), output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<PagedResponse<Order>>> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
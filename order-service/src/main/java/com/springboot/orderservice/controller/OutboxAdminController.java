@@ -0,0 +1,62 @@
+package com.springboot.orderservice.controller;
+
+import com.springboot.orderservice.dto.ApiResponse;
+import com.springboot.orderservice.dto.PagedResponse;
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import com.springboot.orderservice.service.OutboxDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/outbox")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxAdminController {
+
+    private final OutboxDeadLetterService deadLetterService;
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<ApiResponse<PagedResponse<OutboxDeadLetter>>> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        log.info("GET /api/outbox/dead-letters - Fetching dead-lettered events");
+
+        Page<OutboxDeadLetter> deadLetterPage = deadLetterService.getDeadLetters(page, size);
+
+        PagedResponse<OutboxDeadLetter> pagedResponse = PagedResponse.<OutboxDeadLetter>builder()
+                .content(deadLetterPage.getContent())
+                .pageNumber(deadLetterPage.getNumber())
+                .pageSize(deadLetterPage.getSize())
+                .totalElements(deadLetterPage.getTotalElements())
+                .totalPages(deadLetterPage.getTotalPages())
+                .build();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Dead-lettered events fetched successfully", pagedResponse)
+        );
+    }
+
+    @PostMapping("/dead-letters/requeue")
+    public ResponseEntity<ApiResponse<Integer>> requeue(@RequestBody List<Long> ids) {
+        log.info("POST /api/outbox/dead-letters/requeue - Requeueing {} events", ids.size());
+        int requeued = deadLetterService.requeue(ids);
+        return ResponseEntity.ok(
+                ApiResponse.success("Dead-lettered events requeued", requeued)
+        );
+    }
+
+    @PostMapping("/dead-letters/requeue-all")
+    public ResponseEntity<ApiResponse<Integer>> requeueAll() {
+        log.info("POST /api/outbox/dead-letters/requeue-all - Requeueing all events");
+        int requeued = deadLetterService.requeueAll();
+        return ResponseEntity.ok(
+                ApiResponse.success("All dead-lettered events requeued", requeued)
+        );
+    }
+}
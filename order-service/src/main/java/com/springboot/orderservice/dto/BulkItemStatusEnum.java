@@ -0,0 +1,6 @@
+package com.springboot.orderservice.dto;
+
+public enum BulkItemStatusEnum {
+    CREATED,
+    REJECTED
+}
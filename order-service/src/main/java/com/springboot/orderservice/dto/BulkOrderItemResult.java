@@ -0,0 +1,38 @@
+package com.springboot.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderItemResult {
+
+    // Position of the item in the submitted batch
+    private int index;
+
+    private BulkItemStatusEnum status;
+
+    private Long orderId;
+
+    private List<String> errors;
+
+    public static BulkOrderItemResult created(int index, Long orderId) {
+        return BulkOrderItemResult.builder()
+                .index(index)
+                .status(BulkItemStatusEnum.CREATED)
+                .orderId(orderId)
+                .build();
+    }
+
+    public static BulkOrderItemResult rejected(int index, List<String> errors) {
+        return BulkOrderItemResult.builder()
+                .index(index)
+                .status(BulkItemStatusEnum.REJECTED)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.springboot.orderservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BulkOrderResponse {
+
+    private int totalCount;
+    private int createdCount;
+    private int rejectedCount;
+
+    private List<BulkOrderItemResult> results;
+
+    public static BulkOrderResponse of(List<BulkOrderItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkItemStatusEnum.CREATED)
+                .count();
+
+        return BulkOrderResponse.builder()
+                .totalCount(results.size())
+                .createdCount(created)
+                .rejectedCount(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
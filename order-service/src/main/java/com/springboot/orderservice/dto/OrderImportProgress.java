@@ -0,0 +1,21 @@
+package com.springboot.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderImportProgress {
+
+    private long linesRead;
+    private long createdCount;
+    private long rejectedCount;
+    private int chunksCommitted;
+
+    // true only on the final line of the import stream
+    private boolean completed;
+
+    private String error;
+}
@@ -3,8 +3,10 @@ package com.springboot.orderservice.dto;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class OrderRequest {
     @Email(message = "Invalid email format")
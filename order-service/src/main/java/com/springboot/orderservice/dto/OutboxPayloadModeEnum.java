@@ -0,0 +1,8 @@
+package com.springboot.orderservice.dto;
+
+public enum OutboxPayloadModeEnum {
+    // serialized event stored in the outbox row
+    FULL,
+    // only the order id is stored; the event is rebuilt from orders when published
+    REFERENCE
+}
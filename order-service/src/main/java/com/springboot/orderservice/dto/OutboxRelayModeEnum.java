@@ -0,0 +1,8 @@
+package com.springboot.orderservice.dto;
+
+public enum OutboxRelayModeEnum {
+    // claim pending rows with FOR UPDATE SKIP LOCKED (plus the post-commit fast path)
+    POLLING,
+    // tail the MySQL binlog for inserts into outbox_events
+    BINLOG
+}
@@ -0,0 +1,42 @@
+package com.springboot.orderservice.dto;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Producer tuning bundles. All of them keep the producer idempotent (acks=all, at most
+ * five requests in flight), so retries neither duplicate nor reorder records; they only
+ * trade latency for batching and compression.
+ */
+public enum ProducerProfileEnum {
+    // send right away, no compression: lowest per-record latency
+    LOW_LATENCY(0, 16_384, "none", 33_554_432L),
+    // short linger, lz4: good batching at a few ms of added latency
+    BALANCED(5, 65_536, "lz4", 33_554_432L),
+    // long linger, large batches, zstd: fewest requests and smallest log for bulk imports
+    HIGH_THROUGHPUT(20, 262_144, "zstd", 67_108_864L);
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+    private final long bufferMemory;
+
+    ProducerProfileEnum(int lingerMs, int batchSize, String compressionType, long bufferMemory) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+        this.bufferMemory = bufferMemory;
+    }
+
+    public Map<String, Object> settings() {
+        return Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                ProducerConfig.BATCH_SIZE_CONFIG, batchSize,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType,
+                ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+    }
+}
@@ -0,0 +1,19 @@
+package com.springboot.orderservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class ProducerStats {
+
+    private ProducerProfileEnum profile;
+
+    // producer settings in effect, profile and spring.kafka.producer combined
+    private Map<String, Object> settings;
+
+    // producer-metrics group of the running producer, empty until the first send
+    private Map<String, Double> metrics;
+}
@@ -0,0 +1,21 @@
+package com.springboot.orderservice.dto.event;
+
+import com.springboot.orderservice.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Application event published when outbox rows are written; delivered to listeners
+ * once the surrounding transaction has committed. {@code events} carries the stored
+ * rows when the writer wants them published on the post-commit fast path.
+ */
+public record OutboxEventsStored(int count, List<OutboxEvent> events) {
+
+    public OutboxEventsStored(int count) {
+        this(count, List.of());
+    }
+
+    public static OutboxEventsStored of(List<OutboxEvent> events) {
+        return new OutboxEventsStored(events.size(), List.copyOf(events));
+    }
+}
@@ -27,6 +27,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidBatch(
+            InvalidBatchException ex,
+            HttpServletRequest request) {
+        return ResponseEntity.badRequest().body(
+                ApiResponse.error(
+                        "Invalid order batch",
+                        "INVALID_BATCH",
+                        List.of(ex.getMessage())
+                )
+        );
+    }
+
     /**
      * Handles malformed JSON
      */
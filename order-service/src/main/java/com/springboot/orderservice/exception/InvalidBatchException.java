@@ -0,0 +1,7 @@
+package com.springboot.orderservice.exception;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
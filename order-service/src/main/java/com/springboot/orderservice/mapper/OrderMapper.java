@@ -1,18 +1,25 @@
 package com.springboot.orderservice.mapper;
 
+import com.springboot.eventcontract.event.OrderCreated;
 import com.springboot.orderservice.dto.OrderRequest;
-import com.springboot.orderservice.dto.event.OrderCreated;
 import com.springboot.orderservice.model.Order;
+import com.springboot.orderservice.utility.EventIdGenerator;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = EventIdGenerator.class)
 public interface OrderMapper {
 
     Order toEntity(OrderRequest request);
 
-    @Mapping(target = "eventId", expression = "java(java.util.UUID.randomUUID().toString())")
+    @Mapping(target = "eventId", expression = "java(EventIdGenerator.newEventId())")
     @Mapping(target = "occurredAt", expression = "java(java.time.Instant.now())")
     @Mapping(target = "orderId", source = "id")
     OrderCreated toEvent(Order order);
+
+    // Rebuilds the event of a reference-mode outbox row from the stored order
+    @Mapping(target = "eventId", source = "eventId")
+    @Mapping(target = "occurredAt", source = "order.createdAt")
+    @Mapping(target = "orderId", source = "order.id")
+    OrderCreated toEvent(Order order, String eventId);
 }
@@ -0,0 +1,21 @@
+package com.springboot.orderservice.model;
+
+/**
+ * Block size of the pooled table generators of {@link Order} and {@link OutboxEvent}.
+ * <p>
+ * Deliberately a constant rather than a property: the pooled optimizer reads the value in
+ * {@code id_generator} as the top of a block of exactly this size, so every instance must
+ * use the same size or their blocks overlap. Changing it needs a release in which no
+ * instance with the old size still writes, and {@code next_val} must stay at least one
+ * block above the highest id in its range. While instances of the release before
+ * pooled ids still insert through AUTO_INCREMENT, those ids sit far above the generator's
+ * range (see V2__pooled_id_generation.sql).
+ */
+public final class IdAllocation {
+
+    public static final int BLOCK_SIZE = 50;
+
+    private IdAllocation() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -15,8 +15,17 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 public class Order {
+    // Pooled ids keep Hibernate insert batching enabled (IDENTITY disables it)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+    @TableGenerator(
+            name = "order_id_generator",
+            table = "id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "orders",
+            allocationSize = IdAllocation.BLOCK_SIZE
+    )
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,93 @@
+package com.springboot.orderservice.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event that used up its publish attempts. It keeps the outbox id it was
+ * stored with, so requeueing puts the very same row back into {@code outbox_events}.
+ */
+@Entity
+@Table(name = "outbox_dead_letters", indexes = {
+        @Index(name = "idx_outbox_dead_letters_failed_at", columnList = "failed_at")
+})
+@JsonIgnoreProperties({"id", "new", "newEntity"})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxDeadLetter implements Persistable<Long> {
+
+    @Id
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "event_id")
+    private String eventId;
+
+    @Column(name = "event_type")
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "retry_count", nullable = false)
+    private int retryCount;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    // ids are assigned, so tell Spring Data to persist instead of merging (no SELECT first)
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public Long getId() {
+        return outboxId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
+    public static OutboxDeadLetter from(OutboxEvent event, String lastError, LocalDateTime failedAt) {
+        return OutboxDeadLetter.builder()
+                .outboxId(event.getOutboxId())
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .aggregateId(event.getAggregateId())
+                .shard(event.getShard())
+                .payload(event.getPayload())
+                .retryCount(event.getRetryCount() + 1)
+                .lastError(lastError != null && lastError.length() > 1000 ? lastError.substring(0, 1000) : lastError)
+                .createdAt(event.getCreatedAt())
+                .failedAt(failedAt)
+                .build();
+    }
+}
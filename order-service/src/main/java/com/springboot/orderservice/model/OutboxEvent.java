@@ -9,7 +9,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "outbox_events")
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_event_id", columnList = "event_id"),
+        @Index(name = "idx_outbox_events_claim", columnList = "status, shard, next_attempt_at"),
+        @Index(name = "idx_outbox_events_status_created", columnList = "status, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +22,15 @@ import java.time.LocalDateTime;
 public class OutboxEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_id_generator")
+    @TableGenerator(
+            name = "outbox_id_generator",
+            table = "id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "outbox_events",
+            allocationSize = IdAllocation.BLOCK_SIZE
+    )
     @Column(name = "outbox_id")
     private Long outboxId;
 
@@ -28,6 +40,14 @@ public class OutboxEvent {
     @Column(name = "event_type")
     private String eventType;
 
+    // Id of the order the event belongs to; used as the Kafka key
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    // Derived from the key so all events of one order land in the same shard
+    @Column(name = "shard")
+    private Integer shard;
+
     @Lob
     @Column(name = "payload")
     private String payload;
@@ -53,8 +73,9 @@ public class OutboxEvent {
     @Column(name = "last_attempt_at")
     private LocalDateTime lastAttemptAt;
 
-    public void incrementRetryCount() {
-        this.retryCount++;
-    }
+    // Not claimed before this time: the fast-path grace period for new rows, then
+    // exponential backoff after each failure
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
 }
 
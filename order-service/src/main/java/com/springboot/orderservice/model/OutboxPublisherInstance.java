@@ -0,0 +1,23 @@
+package com.springboot.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_publisher_instances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxPublisherInstance {
+
+    @Id
+    @Column(name = "instance_id", length = 100)
+    private String instanceId;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
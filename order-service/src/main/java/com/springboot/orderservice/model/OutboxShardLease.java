@@ -0,0 +1,26 @@
+package com.springboot.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_shard_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxShardLease {
+
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
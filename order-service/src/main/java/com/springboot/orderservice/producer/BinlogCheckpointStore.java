@@ -0,0 +1,47 @@
+package com.springboot.orderservice.producer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps the binlog position up to which outbox rows have been published in a local
+ * file. The file is replaced atomically, so it always holds a complete position.
+ */
+public class BinlogCheckpointStore {
+
+    private final Path file;
+
+    public BinlogCheckpointStore(Path file) {
+        this.file = file;
+    }
+
+    public Optional<BinlogPosition> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(BinlogPosition.parse(Files.readString(file, StandardCharsets.UTF_8).trim()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read binlog checkpoint " + file, e);
+        }
+    }
+
+    public void save(BinlogPosition position) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, position.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write binlog checkpoint " + file, e);
+        }
+    }
+}
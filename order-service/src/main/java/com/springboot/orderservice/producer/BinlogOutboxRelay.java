@@ -0,0 +1,223 @@
+package com.springboot.orderservice.producer;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.github.shyiko.mysql.binlog.event.deserialization.EventDeserializer;
+import com.springboot.orderservice.dto.OutboxRelayModeEnum;
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxDeadLetterRepository;
+import com.springboot.orderservice.service.OutboxPayloadResolver;
+import com.springboot.orderservice.utility.OutboxRecords;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays outbox rows by tailing the MySQL binlog instead of polling the table. Rows are
+ * published in commit order straight from the replication stream, so the database sees
+ * neither claim queries nor status updates; processed rows simply age out through the
+ * retention job. The binlog position is checkpointed to a local file after every
+ * published transaction.
+ * <p>
+ * Needs row-based binlogs ({@code binlog_format=ROW}, the MySQL 8 default) with column
+ * names in the row metadata ({@code binlog_row_metadata=FULL}), and a user with
+ * REPLICATION SLAVE and REPLICATION CLIENT privileges.
+ * <p>
+ * Only one instance may run the relay, since the checkpoint is local and every relay would
+ * publish every row. A named database lock enforces this: another instance waits up to
+ * {@code lock-wait-ms} at startup (long enough for a rolling restart) and then fails to start.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay", havingValue = "BINLOG")
+@Slf4j
+public class BinlogOutboxRelay implements OutboxRelay {
+
+    private static final String OUTBOX_TABLE = "outbox_events";
+    private static final String LOCK_NAME = "outbox_binlog_relay";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxPayloadResolver payloadResolver;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.kafka.topic.order-created}")
+    private String topic;
+
+    @Value("${app.outbox.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.outbox.binlog.host:localhost}")
+    private String host;
+
+    @Value("${app.outbox.binlog.port:3306}")
+    private int port;
+
+    @Value("${app.outbox.binlog.schema:order_db}")
+    private String schema;
+
+    @Value("${app.outbox.binlog.username:}")
+    private String username;
+
+    @Value("${app.outbox.binlog.password:}")
+    private String password;
+
+    @Value("${app.outbox.binlog.server-id:6401}")
+    private long serverId;
+
+    @Value("${app.outbox.binlog.checkpoint-file:outbox-binlog.checkpoint}")
+    private String checkpointFile;
+
+    @Value("${app.outbox.binlog.connect-timeout-ms:10000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.outbox.binlog.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.outbox.binlog.idle-checkpoint-ms:5000}")
+    private long idleCheckpointMs;
+
+    @Value("${app.outbox.binlog.lock-wait-ms:60000}")
+    private long lockWaitMs;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username:}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password:}")
+    private String datasourcePassword;
+
+    private BinlogRelayLock lock;
+    private BinaryLogClient client;
+    private OutboxBinlogEventHandler handler;
+    private volatile boolean running;
+
+    public BinlogOutboxRelay(KafkaTemplate<String, byte[]> kafkaTemplate,
+                             OutboxPayloadResolver payloadResolver,
+                             OutboxDeadLetterRepository deadLetterRepository,
+                             JdbcTemplate jdbcTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.payloadResolver = payloadResolver;
+        this.deadLetterRepository = deadLetterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public OutboxRelayModeEnum mode() {
+        return OutboxRelayModeEnum.BINLOG;
+    }
+
+    @Override
+    public void start() {
+        String rowMetadata = jdbcTemplate.queryForObject("SELECT @@GLOBAL.binlog_row_metadata", String.class);
+        if (!"FULL".equalsIgnoreCase(rowMetadata)) {
+            // without column names rows written before an ALTER TABLE would be mapped with today's layout
+            throw new IllegalStateException("Outbox binlog relay needs binlog_row_metadata=FULL, found " + rowMetadata);
+        }
+
+        lock = new BinlogRelayLock(datasourceUrl, datasourceUsername, datasourcePassword, LOCK_NAME);
+        try {
+            if (!lock.acquire(lockWaitMs)) {
+                throw new IllegalStateException("Another instance is running the outbox binlog relay; "
+                        + "lock not acquired within " + lockWaitMs + " ms");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not take the outbox binlog relay lock", e);
+        }
+
+        BinlogCheckpointStore checkpointStore = new BinlogCheckpointStore(Paths.get(checkpointFile));
+        handler = new OutboxBinlogEventHandler(schema, OUTBOX_TABLE, this::publish,
+                checkpointStore, retryBackoffMs, idleCheckpointMs);
+
+        client = new BinaryLogClient(host, port, username, password);
+        client.setServerId(serverId);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.setCompatibilityMode(
+                EventDeserializer.CompatibilityMode.DATE_AND_TIME_AS_LONG,
+                EventDeserializer.CompatibilityMode.CHAR_AND_BINARY_AS_BYTE_ARRAY);
+        client.setEventDeserializer(deserializer);
+        client.registerEventListener(handler);
+
+        // without a checkpoint the relay starts at the current end of the binlog
+        checkpointStore.load().ifPresent(position -> {
+            client.setBinlogFilename(position.filename());
+            client.setBinlogPosition(position.position());
+            log.info("Resuming outbox binlog relay at {}", position);
+        });
+
+        try {
+            client.connect(connectTimeoutMs);
+        } catch (IOException | TimeoutException e) {
+            lock.release();
+            throw new IllegalStateException("Could not connect outbox binlog relay to " + host + ":" + port, e);
+        }
+        running = true;
+        log.info("Outbox binlog relay connected to {}:{}, tailing {}.{}", host, port, schema, OUTBOX_TABLE);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (handler != null) {
+            handler.stop();
+        }
+        if (client != null) {
+            try {
+                client.disconnect();
+            } catch (IOException e) {
+                log.warn("Error while disconnecting outbox binlog relay: {}", e.getMessage());
+            }
+        }
+        if (lock != null) {
+            lock.release();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish(List<OutboxEvent> rows) throws Exception {
+        // the lock's session can drop (e.g. a database restart); take it back before publishing more
+        if (!lock.isHeld() && !lock.acquire(0)) {
+            throw new IllegalStateException("Outbox binlog relay lost its lock to another instance");
+        }
+
+        Map<Long, byte[]> values = payloadResolver.resolve(rows);
+
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            byte[] value = values.get(row.getOutboxId());
+            if (value == null) {
+                // can never be published; park it instead of blocking every later transaction
+                deadLetterRepository.save(OutboxDeadLetter.from(row,
+                        "Order " + row.getAggregateId() + " not found", LocalDateTime.now()));
+                log.error("Outbox event {} moved to dead letters: order {} not found",
+                        row.getEventId(), row.getAggregateId());
+                continue;
+            }
+            sends.add(kafkaTemplate.send(topic, OutboxRecords.key(row), value));
+        }
+
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        log.debug("Relayed {} outbox events from the binlog", sends.size());
+    }
+}
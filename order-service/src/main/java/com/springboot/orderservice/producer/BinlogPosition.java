@@ -0,0 +1,20 @@
+package com.springboot.orderservice.producer;
+
+/**
+ * A point in the MySQL binlog: the file name and the byte offset of the next event.
+ */
+public record BinlogPosition(String filename, long position) {
+
+    @Override
+    public String toString() {
+        return filename + ":" + position;
+    }
+
+    public static BinlogPosition parse(String value) {
+        int separator = value.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid binlog position: " + value);
+        }
+        return new BinlogPosition(value.substring(0, separator), Long.parseLong(value.substring(separator + 1).trim()));
+    }
+}
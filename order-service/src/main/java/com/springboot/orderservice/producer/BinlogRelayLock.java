@@ -0,0 +1,90 @@
+package com.springboot.orderservice.producer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A MySQL named lock ({@code GET_LOCK}) held on a connection of its own for as long as the
+ * binlog relay runs, so only one instance tails the binlog. MySQL releases the lock when
+ * that session ends, so a crashed instance never keeps it. The connection is opened outside
+ * the pool: a pooled one would outlive {@link #release()} and keep the lock with it.
+ */
+@Slf4j
+public class BinlogRelayLock {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String name;
+
+    private Connection connection;
+
+    public BinlogRelayLock(String url, String username, String password, String name) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.name = name;
+    }
+
+    /**
+     * Waits up to {@code waitMs} (rounded up to whole seconds) for the lock.
+     */
+    public synchronized boolean acquire(long waitMs) throws SQLException {
+        release();
+        connection = DriverManager.getConnection(url, username, password);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, name);
+            statement.setLong(2, (waitMs + 999) / 1000);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next() && result.getInt(1) == 1) {
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            release();
+            throw e;
+        }
+        release();
+        return false;
+    }
+
+    /**
+     * Whether this instance still holds the lock; false once its session is gone.
+     */
+    public synchronized boolean isHeld() {
+        if (connection == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT IS_USED_LOCK(?) = CONNECTION_ID()")) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not check the outbox binlog relay lock: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void release() {
+        if (connection == null) {
+            return;
+        }
+        try (Connection held = connection) {
+            // closing the session frees the lock anyway; this just makes it explicit
+            try (PreparedStatement statement = held.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                statement.setString(1, name);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not release the outbox binlog relay lock cleanly: {}", e.getMessage());
+        } finally {
+            connection = null;
+        }
+    }
+}
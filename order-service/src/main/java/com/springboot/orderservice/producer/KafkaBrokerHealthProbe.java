@@ -0,0 +1,69 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.service.BrokerHealthProbe;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes the cluster with a single describeCluster call: one small metadata request,
+ * answered by any live broker, bounded by {@code probe-timeout-ms}.
+ */
+@Component
+@Slf4j
+public class KafkaBrokerHealthProbe implements BrokerHealthProbe, DisposableBean {
+
+    private final KafkaAdmin kafkaAdmin;
+
+    @Value("${app.outbox.circuit-breaker.probe-timeout-ms:2000}")
+    private int probeTimeoutMs;
+
+    private AdminClient adminClient;
+
+    public KafkaBrokerHealthProbe(KafkaAdmin kafkaAdmin) {
+        this.kafkaAdmin = kafkaAdmin;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        try {
+            return !adminClient().describeCluster(new DescribeClusterOptions().timeoutMs(probeTimeoutMs))
+                    .nodes()
+                    .get(probeTimeoutMs, TimeUnit.MILLISECONDS)
+                    .isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Kafka health probe failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized AdminClient adminClient() {
+        if (adminClient == null) {
+            Map<String, Object> config = new HashMap<>(kafkaAdmin.getConfigurationProperties());
+            config.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, probeTimeoutMs);
+            config.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, probeTimeoutMs);
+            config.put(AdminClientConfig.CLIENT_ID_CONFIG, "outbox-health-probe");
+            adminClient = AdminClient.create(config);
+        }
+        return adminClient;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.springboot.orderservice.producer;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.RotateEventData;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the binlog event stream into committed batches of outbox rows. Inserts into the
+ * outbox table are buffered until their transaction's XID (commit) event, then handed
+ * to the publisher in commit order; only after the publisher returns is the position
+ * behind the XID checkpointed, so a restart resumes with the first unpublished
+ * transaction.
+ * <p>
+ * Row values are mapped by the column names the TABLE_MAP event carries
+ * ({@code binlog_row_metadata=FULL}), so rows replayed from before an ALTER TABLE are read
+ * with the layout they were written with. A row that cannot be mapped halts the handler:
+ * nothing after it is published or checkpointed.
+ */
+@Slf4j
+public class OutboxBinlogEventHandler implements BinaryLogClient.EventListener {
+
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    /**
+     * Publishes the outbox rows of one committed transaction and returns once Kafka has
+     * acknowledged all of them.
+     */
+    @FunctionalInterface
+    public interface TransactionPublisher {
+        void publish(List<OutboxEvent> rows) throws Exception;
+    }
+
+    private final String schema;
+    private final String table;
+    private final TransactionPublisher publisher;
+    private final BinlogCheckpointStore checkpointStore;
+    private final long retryBackoffMs;
+    private final long idleCheckpointMs;
+
+    // column names of the outbox table, per table id of the current TABLE_MAP events
+    private final Map<Long, List<String>> outboxColumns = new HashMap<>();
+    private final List<OutboxEvent> transactionRows = new ArrayList<>();
+    private String binlogFilename;
+    private long lastCheckpointMillis;
+    private volatile boolean running = true;
+    private volatile boolean halted;
+
+    public OutboxBinlogEventHandler(String schema, String table, TransactionPublisher publisher,
+                                    BinlogCheckpointStore checkpointStore, long retryBackoffMs,
+                                    long idleCheckpointMs) {
+        this.schema = schema;
+        this.table = table;
+        this.publisher = publisher;
+        this.checkpointStore = checkpointStore;
+        this.retryBackoffMs = retryBackoffMs;
+        this.idleCheckpointMs = idleCheckpointMs;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (halted) {
+            return;
+        }
+        EventHeaderV4 header = event.getHeader();
+        EventType type = header.getEventType();
+
+        if (type == EventType.ROTATE) {
+            binlogFilename = ((RotateEventData) event.getData()).getBinlogFilename();
+        } else if (type == EventType.TABLE_MAP) {
+            TableMapEventData data = event.getData();
+            if (schema.equalsIgnoreCase(data.getDatabase()) && table.equalsIgnoreCase(data.getTable())) {
+                outboxColumns.put(data.getTableId(), columnNames(data));
+            } else {
+                outboxColumns.remove(data.getTableId());
+            }
+        } else if (EventType.isWrite(type)) {
+            WriteRowsEventData data = event.getData();
+            List<String> columns = outboxColumns.get(data.getTableId());
+            if (columns != null) {
+                if (columns.isEmpty()) {
+                    halt("the TABLE_MAP event carries no column names; set binlog_row_metadata=FULL");
+                    return;
+                }
+                for (Serializable[] row : data.getRows()) {
+                    transactionRows.add(toOutboxEvent(row, data.getIncludedColumns(), columns));
+                }
+            }
+        } else if (type == EventType.XID) {
+            commit(header.getNextPosition());
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isHalted() {
+        return halted;
+    }
+
+    private void halt(String reason) {
+        halted = true;
+        running = false;
+        transactionRows.clear();
+        log.error("Outbox binlog relay halted at {}, nothing after it is published: {}", binlogFilename, reason);
+    }
+
+    private static List<String> columnNames(TableMapEventData data) {
+        if (data.getEventMetadata() == null || data.getEventMetadata().getColumnNames() == null) {
+            return List.of();
+        }
+        return data.getEventMetadata().getColumnNames();
+    }
+
+    private void commit(long nextPosition) {
+        boolean published = !transactionRows.isEmpty();
+        if (published) {
+            publishWithRetry(List.copyOf(transactionRows));
+            transactionRows.clear();
+        }
+
+        // transactions without outbox rows only move the checkpoint now and then
+        long now = System.currentTimeMillis();
+        if (binlogFilename != null && (published || now - lastCheckpointMillis >= idleCheckpointMs)) {
+            checkpointStore.save(new BinlogPosition(binlogFilename, nextPosition));
+            lastCheckpointMillis = now;
+        }
+    }
+
+    private void publishWithRetry(List<OutboxEvent> rows) {
+        long backoffMs = retryBackoffMs;
+        while (running) {
+            try {
+                publisher.publish(rows);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // later transactions must not overtake this one: keep retrying it
+                log.warn("Publishing {} outbox rows from the binlog failed, retrying in {} ms: {}",
+                        rows.size(), backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+        // not checkpointed, so the transaction is read again after a restart
+        throw new IllegalStateException("Outbox relay stopped before publishing " + rows.size() + " rows");
+    }
+
+    private OutboxEvent toOutboxEvent(Serializable[] row, BitSet includedColumns, List<String> columns) {
+        Map<String, Serializable> values = new HashMap<>();
+        int index = 0;
+        for (int column = includedColumns.nextSetBit(0); column >= 0; column = includedColumns.nextSetBit(column + 1)) {
+            values.put(columns.get(column), row[index++]);
+        }
+
+        return OutboxEvent.builder()
+                .outboxId(number(values.get("outbox_id")).longValue())
+                .eventId(text(values.get("event_id")))
+                .eventType(text(values.get("event_type")))
+                .aggregateId(values.get("aggregate_id") != null ? number(values.get("aggregate_id")).longValue() : null)
+                .shard(values.get("shard") != null ? number(values.get("shard")).intValue() : null)
+                .payload(text(values.get("payload")))
+                .status(EventStatusEnum.PENDING)
+                .build();
+    }
+
+    private static Number number(Serializable value) {
+        return (Number) value;
+    }
+
+    private static String text(Serializable value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+    }
+}
@@ -1,23 +1,188 @@
 package com.springboot.orderservice.producer;
 
 
+import com.springboot.orderservice.dto.OutboxRelayModeEnum;
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.service.BrokerCircuitBreaker;
 import com.springboot.orderservice.service.OutboxEventProcessService;
+import com.springboot.orderservice.service.OutboxEventProcessService.BatchResult;
+import com.springboot.orderservice.service.OutboxShardLeaseManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox on {@code app.outbox.workers} dedicated threads. Each worker drains
+ * its own subset of the shards leased to this instance, so a shard (and therefore every
+ * key hashed onto it) is published by exactly one thread at a time.
+ * <p>
+ * While {@link BrokerCircuitBreaker} is open the workers claim nothing.
+ * <p>
+ * Local order commits wake the workers straight away (bursts of wakeups collapse into
+ * one drain); with nothing to do a worker backs off from {@code min-ms} up to
+ * {@code max-ms}, which doubles as the safety-net poll for rows written by other or
+ * crashed instances. Commits taken by {@link OutboxFastPathPublisher} are not woken for
+ * here; the fast path wakes the workers itself, right away for rows it gives up on and
+ * at the end of the grace period for the rest.
+ */
 @Component
+@ConditionalOnProperty(name = "app.outbox.relay", havingValue = "POLLING", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class OutboxEventPublisher {
+public class OutboxEventPublisher implements OutboxRelay {
+
+    // delayed wakeups are rounded up to this tick, so a burst of commits schedules one per tick
+    private static final long WAKEUP_TICK_MS = 100;
 
     private final OutboxEventProcessService outboxEventProcessService;
+    private final OutboxShardLeaseManager shardLeaseManager;
+    private final BrokerCircuitBreaker circuitBreaker;
+
+    @Value("${app.outbox.idle-backoff.min-ms:50}")
+    private long minIdleWaitMs;
+
+    @Value("${app.outbox.idle-backoff.max-ms:5000}")
+    private long maxIdleWaitMs;
+
+    @Value("${app.outbox.fast-path.enabled:true}")
+    private boolean fastPathEnabled;
+
+    @Value("${app.outbox.workers:4}")
+    private int workerCount;
+
+    private final List<Worker> workers = new ArrayList<>();
+    private final AtomicLong scheduledWakeupTick = new AtomicLong();
+    private volatile boolean running;
+
+    @TransactionalEventListener
+    public void onOutboxEventsStored(OutboxEventsStored event) {
+        if (fastPathEnabled && !event.events().isEmpty()) {
+            // the fast path takes these rows and wakes the workers when it needs them
+            return;
+        }
+        log.debug("Outbox wakeup after commit of {} events", event.count());
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        workers.forEach(Worker::wakeUp);
+    }
+
+    /**
+     * Wakes the workers once {@code delayMs} have passed, e.g. when rows become due,
+     * instead of leaving them to the idle backoff.
+     */
+    public void wakeUpAfter(long delayMs) {
+        long dueMs = System.currentTimeMillis() + delayMs;
+        long tick = (dueMs + WAKEUP_TICK_MS - 1) / WAKEUP_TICK_MS;
+        if (scheduledWakeupTick.getAndSet(tick) == tick) {
+            return; // already scheduled for this tick
+        }
+        long waitMs = Math.max(0, tick * WAKEUP_TICK_MS - System.currentTimeMillis());
+        CompletableFuture.runAsync(this::wakeUp, CompletableFuture.delayedExecutor(waitMs, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public OutboxRelayModeEnum mode() {
+        return OutboxRelayModeEnum.POLLING;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Worker worker = new Worker(i);
+            workers.add(worker);
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp();
+        try {
+            for (Worker worker : workers) {
+                worker.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final int index;
+        private final Semaphore wakeups = new Semaphore(0);
+        private final Thread thread;
+
+        private Worker(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "outbox-publisher-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void wakeUp() {
+            if (wakeups.availablePermits() == 0) {
+                wakeups.release();
+            }
+        }
+
+        @Override
+        public void run() {
+            long idleWaitMs = minIdleWaitMs;
+
+            while (running) {
+                int claimed = drain();
+                idleWaitMs = claimed > 0 ? minIdleWaitMs : Math.min(idleWaitMs * 2, maxIdleWaitMs);
+
+                try {
+                    wakeups.tryAcquire(idleWaitMs, TimeUnit.MILLISECONDS);
+                    // wakeups that arrived meanwhile are covered by the next drain
+                    wakeups.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
 
-    @Scheduled(fixedDelay = 5000)
-    public void publishPendingEvents() {
-        log.info("Scheduled task started: Publishing pending outbox events");
-        outboxEventProcessService.processBatch();
-        log.info("Scheduled task completed: Finished processing pending outbox events");
+        private int drain() {
+            int total = 0;
+            try {
+                List<Integer> shards = shardLeaseManager.shardsForWorker(index, workerCount);
+                if (shards.isEmpty()) {
+                    return 0;
+                }
+                BatchResult result;
+                do {
+                    if (!circuitBreaker.allowRequest()) {
+                        // broker down: claim nothing, hold no locks; the idle backoff paces the probes
+                        break;
+                    }
+                    result = outboxEventProcessService.processBatch(shards);
+                    total += result.claimed();
+                } while (running && result.full());
+            } catch (Exception e) {
+                log.error("Outbox publishing failed on worker {}: {}", index, e.getMessage(), e);
+            }
+            return total;
+        }
     }
 }
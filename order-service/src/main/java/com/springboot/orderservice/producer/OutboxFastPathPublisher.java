@@ -0,0 +1,242 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxRepository;
+import com.springboot.orderservice.service.BrokerCircuitBreaker;
+import com.springboot.orderservice.service.OutboxPayloadResolver;
+import com.springboot.orderservice.utility.OutboxRecords;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes freshly committed outbox rows straight away instead of waiting for the
+ * poller. Sends are handed to a single background thread (in commit order) so the
+ * request thread never waits on Kafka; acknowledged rows are collected and marked
+ * PROCESSED with one UPDATE per group of confirmations.
+ * <p>
+ * Nothing here is required for delivery: new rows are stored with
+ * {@code next_attempt_at = now + grace-ms}, so whatever the fast path does not confirm
+ * in time is published by {@link OutboxEventPublisher} afterwards. Rows the fast path
+ * does not take or gives up on (queue full, broker circuit open, send failed) are made
+ * due again at once and the poller is woken for them; for the rows it takes, a wakeup is
+ * scheduled at the end of the grace period. Only an instance crash leaves rows to the
+ * idle poll.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay", havingValue = "POLLING", matchIfMissing = true)
+@Slf4j
+public class OutboxFastPathPublisher {
+
+    private static final int MAX_CONFIRM_BATCH = 1000;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
+    private final BrokerCircuitBreaker circuitBreaker;
+    private final OutboxPayloadResolver payloadResolver;
+    private final OutboxEventPublisher poller;
+
+    @Value("${app.kafka.topic.order-created}")
+    private String topic;
+
+    @Value("${app.outbox.fast-path.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.fast-path.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.outbox.fast-path.grace-ms:2000}")
+    private long graceMs;
+
+    /**
+     * What became of one row: published and to be confirmed, or handed back to the poller.
+     */
+    private record Outcome(Long outboxId, boolean published) {
+    }
+
+    private ThreadPoolExecutor sender;
+    private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+    private Thread confirmer;
+    private volatile boolean running;
+
+    public OutboxFastPathPublisher(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                   OutboxRepository outboxRepository,
+                                   BrokerCircuitBreaker circuitBreaker,
+                                   OutboxPayloadResolver payloadResolver,
+                                   OutboxEventPublisher poller) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxRepository = outboxRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.payloadResolver = payloadResolver;
+        this.poller = poller;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // a full queue rejects the task; its rows are handed back to the poller
+        sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-fast-path");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        running = true;
+        confirmer = new Thread(this::runConfirmLoop, "outbox-fast-path-confirm");
+        confirmer.setDaemon(true);
+        confirmer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.shutdown();
+        try {
+            sender.awaitTermination(5, TimeUnit.SECONDS);
+            confirmer.interrupt();
+            confirmer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handOverPending();
+    }
+
+    @TransactionalEventListener
+    public void onOutboxEventsStored(OutboxEventsStored stored) {
+        List<OutboxEvent> events = stored.events();
+        if (events.isEmpty()) {
+            return; // not ours; the poller was woken for these
+        }
+        if (!running || circuitBreaker.getState() != BrokerCircuitBreaker.State.CLOSED) {
+            handBack(events);
+            return;
+        }
+        try {
+            sender.execute(() -> publish(events));
+        } catch (RejectedExecutionException e) {
+            log.debug("Fast-path queue full, {} events left to the poller", events.size());
+            handBack(events);
+            return;
+        }
+        // rows that are still unconfirmed when they become due
+        poller.wakeUpAfter(graceMs);
+    }
+
+    private void publish(List<OutboxEvent> events) {
+        Map<Long, byte[]> values;
+        try {
+            values = payloadResolver.resolve(events);
+        } catch (RuntimeException e) {
+            log.debug("Fast-path publish skipped, left to the poller: {}", e.getMessage());
+            handBack(events);
+            return;
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            Long outboxId = event.getOutboxId();
+            byte[] value = values.get(outboxId);
+            if (value == null) {
+                handBack(List.of(event));
+                continue;
+            }
+            try {
+                kafkaTemplate.send(topic, OutboxRecords.key(event), value)
+                        .whenComplete((result, ex) -> {
+                            if (ex != null) {
+                                log.debug("Fast-path publish failed for eventId: {}, left to the poller: {}",
+                                        event.getEventId(), ex.getMessage());
+                            }
+                            outcomes.add(new Outcome(outboxId, ex == null));
+                        });
+            } catch (RuntimeException e) {
+                // Kafka cannot take records right now; the rest would block as well
+                log.debug("Fast-path publish stopped, left to the poller: {}", e.getMessage());
+                handBack(events.subList(i, events.size()));
+                return;
+            }
+        }
+    }
+
+    private void handBack(List<OutboxEvent> events) {
+        events.forEach(event -> outcomes.add(new Outcome(event.getOutboxId(), false)));
+    }
+
+    private void runConfirmLoop() {
+        while (running) {
+            try {
+                Outcome first = outcomes.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // outcomes arriving while the previous UPDATE ran are written together
+                List<Outcome> batch = new ArrayList<>();
+                batch.add(first);
+                outcomes.drainTo(batch, MAX_CONFIRM_BATCH - 1);
+                record(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void handOverPending() {
+        List<Outcome> batch = new ArrayList<>();
+        while (outcomes.drainTo(batch, MAX_CONFIRM_BATCH) > 0) {
+            record(batch);
+            batch = new ArrayList<>();
+        }
+    }
+
+    private void record(List<Outcome> batch) {
+        List<Long> published = new ArrayList<>();
+        List<Long> handedBack = new ArrayList<>();
+        for (Outcome outcome : batch) {
+            (outcome.published() ? published : handedBack).add(outcome.outboxId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!published.isEmpty()) {
+            try {
+                outboxRepository.markProcessedIfPending(published, now);
+            } catch (RuntimeException e) {
+                // the rows stay PENDING and are republished by the poller
+                log.warn("Could not confirm {} fast-path publishes: {}", published.size(), e.getMessage());
+            }
+        }
+        if (!handedBack.isEmpty()) {
+            try {
+                outboxRepository.markDueIfPending(handedBack, now);
+            } catch (RuntimeException e) {
+                // still due at the end of the grace period, when the scheduled wakeup finds them
+                log.warn("Could not hand {} events back to the poller: {}", handedBack.size(), e.getMessage());
+            }
+            poller.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.dto.OutboxRelayModeEnum;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Moves committed outbox rows to Kafka. Exactly one implementation is active, chosen
+ * with {@code app.outbox.relay}.
+ */
+public interface OutboxRelay extends SmartLifecycle {
+
+    OutboxRelayModeEnum mode();
+}
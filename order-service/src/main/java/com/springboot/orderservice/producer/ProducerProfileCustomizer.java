@@ -0,0 +1,45 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.dto.ProducerProfileEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.kafka.autoconfigure.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the producer profile chosen with {@code app.kafka.producer.profile} on top of
+ * the {@code spring.kafka.producer} settings. The client id carries the profile name,
+ * so broker-side quotas and metrics can be told apart per profile as well.
+ */
+@Component
+@Slf4j
+public class ProducerProfileCustomizer implements DefaultKafkaProducerFactoryCustomizer {
+
+    @Value("${app.kafka.producer.profile:BALANCED}")
+    private ProducerProfileEnum profile;
+
+    @Value("${spring.application.name:order-service}")
+    private String applicationName;
+
+    @Override
+    public void customize(DefaultKafkaProducerFactory<?, ?> producerFactory) {
+        Map<String, Object> settings = new HashMap<>(profile.settings());
+        // taken as the prefix of the numbered client ids the factory hands out
+        settings.put(ProducerConfig.CLIENT_ID_CONFIG, applicationName + "-" + profileName());
+        producerFactory.updateConfigs(settings);
+        log.info("Kafka producer profile {} applied: {}", profile, profile.settings());
+    }
+
+    public ProducerProfileEnum getProfile() {
+        return profile;
+    }
+
+    private String profileName() {
+        return profile.name().toLowerCase().replace('_', '-');
+    }
+}
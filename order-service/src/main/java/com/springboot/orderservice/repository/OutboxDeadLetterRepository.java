@@ -0,0 +1,52 @@
+package com.springboot.orderservice.repository;
+
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+
+    @Query(value = """
+        SELECT outbox_id
+        FROM outbox_dead_letters
+        ORDER BY outbox_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findIds(@Param("limit") int limit);
+
+    // The binlog relay never deletes published rows, so the original may still be there;
+    // removing it lets the copy below be inserted (and tailed again as a new row event)
+    @Modifying
+    @Query(value = """
+        DELETE FROM outbox_events
+        WHERE outbox_id IN (
+            SELECT outbox_id FROM outbox_dead_letters WHERE outbox_id IN (:ids)
+        )
+        """, nativeQuery = true)
+    int deleteOriginals(@Param("ids") Collection<Long> ids);
+
+    // Puts the rows back as fresh PENDING events with their original outbox id
+    @Modifying
+    @Query(value = """
+        INSERT INTO outbox_events
+            (outbox_id, event_id, event_type, aggregate_id, shard, payload,
+             status, created_at, updated_at, retry_count, next_attempt_at)
+        SELECT outbox_id, event_id, event_type, aggregate_id, COALESCE(shard, 0), payload,
+               'PENDING', created_at, :now, 0, :now
+        FROM outbox_dead_letters
+        WHERE outbox_id IN (:ids)
+        """, nativeQuery = true)
+    int copyToOutbox(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxDeadLetter d WHERE d.outboxId IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
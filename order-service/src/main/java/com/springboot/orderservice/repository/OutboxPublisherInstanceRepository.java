@@ -0,0 +1,28 @@
+package com.springboot.orderservice.repository;
+
+import com.springboot.orderservice.model.OutboxPublisherInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OutboxPublisherInstanceRepository extends JpaRepository<OutboxPublisherInstance, String> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO outbox_publisher_instances (instance_id, heartbeat_at)
+        VALUES (:instanceId, :now)
+        ON DUPLICATE KEY UPDATE heartbeat_at = :now
+        """, nativeQuery = true)
+    int heartbeat(@Param("instanceId") String instanceId, @Param("now") LocalDateTime now);
+
+    long countByHeartbeatAtAfter(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM OutboxPublisherInstance i WHERE i.heartbeatAt < :cutoff")
+    int deleteStale(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,22 +1,123 @@
 package com.springboot.orderservice.repository;
 
+import com.springboot.orderservice.dto.EventStatusEnum;
 import com.springboot.orderservice.model.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
 
+    /**
+     * Claims due rows of one shard. With status and shard fixed, idx_outbox_events_claim
+     * (status, shard, next_attempt_at, plus the primary key InnoDB appends) already holds the
+     * rows in ORDER BY order, so the scan stops after LIMIT rows; with {@code shard IN (...)}
+     * MySQL had to filesort every due row of the shards first. Expected plan:
+     * {@code type=range, key=idx_outbox_events_claim, Extra=Using index condition}, no filesort.
+     */
     @Query(value = """
         SELECT *
         FROM outbox_events
         WHERE status = 'PENDING'
-        ORDER BY created_at
-        LIMIT 50
+          AND shard = :shard
+          AND next_attempt_at <= :now
+        ORDER BY next_attempt_at, outbox_id
+        LIMIT :limit
         FOR UPDATE SKIP LOCKED
         """, nativeQuery = true)
-    List<OutboxEvent> findBatchForUpdate();
+    List<OutboxEvent> findBatchForUpdate(@Param("shard") int shard,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.status = :status, e.processedAt = :now, e.updatedAt = :now
+        WHERE e.outboxId IN :ids
+        """)
+    int markProcessed(@Param("ids") Collection<Long> ids,
+                      @Param("now") LocalDateTime now,
+                      @Param("status") EventStatusEnum status);
+
+    // Confirmation from the post-commit fast path; rows the poller already handled stay as they are
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_events
+        SET status = 'PROCESSED', processed_at = :now, updated_at = :now
+        WHERE outbox_id IN (:ids)
+          AND status = 'PENDING'
+        """, nativeQuery = true)
+    int markProcessedIfPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Ends the fast-path grace period early for rows the fast path handed back to the poller
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_events
+        SET next_attempt_at = :now, updated_at = :now
+        WHERE outbox_id IN (:ids)
+          AND status = 'PENDING'
+          AND next_attempt_at > :now
+        """, nativeQuery = true)
+    int markDueIfPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Schedules another attempt with exponential backoff: the delay doubles with every
+     * attempt up to {@code maxDelayMs}, and a random half of it is jittered away so that
+     * events failing together do not all come back in the same batch.
+     * next_attempt_at is assigned before retry_count: MySQL applies SET clauses left to right.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_events
+        SET next_attempt_at = DATE_ADD(:now, INTERVAL FLOOR(
+                LEAST(:maxDelayMs, :baseDelayMs * POW(2, retry_count)) * (0.5 + RAND() / 2) * 1000
+            ) MICROSECOND),
+            retry_count = retry_count + 1,
+            last_attempt_at = :now,
+            updated_at = :now
+        WHERE outbox_id IN (:ids)
+        """, nativeQuery = true)
+    int markForRetry(@Param("ids") Collection<Long> ids,
+                     @Param("now") LocalDateTime now,
+                     @Param("baseDelayMs") long baseDelayMs,
+                     @Param("maxDelayMs") long maxDelayMs);
+
+    // Puts rows back without counting an attempt, e.g. ones queued behind a failed send for their key
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_events
+        SET next_attempt_at = :nextAttemptAt,
+            updated_at = :now
+        WHERE outbox_id IN (:ids)
+        """, nativeQuery = true)
+    int reschedule(@Param("ids") Collection<Long> ids,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("now") LocalDateTime now);
+
+    @Query(value = """
+        SELECT outbox_id
+        FROM outbox_events
+        WHERE status IN (:statuses)
+          AND created_at < :cutoff
+        ORDER BY created_at
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findIdsCreatedBefore(@Param("statuses") Collection<String> statuses,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.outboxId IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
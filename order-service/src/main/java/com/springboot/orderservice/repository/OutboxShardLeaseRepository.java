@@ -0,0 +1,72 @@
+package com.springboot.orderservice.repository;
+
+import com.springboot.orderservice.model.OutboxShardLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxShardLeaseRepository extends JpaRepository<OutboxShardLease, Integer> {
+
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO outbox_shard_leases (shard, owner, lease_until)
+        VALUES (:shard, NULL, NULL)
+        """, nativeQuery = true)
+    int insertIfMissing(@Param("shard") int shard);
+
+    @Query(value = """
+        SELECT shard
+        FROM outbox_shard_leases
+        WHERE owner = :owner AND lease_until > :now
+        ORDER BY shard
+        """, nativeQuery = true)
+    List<Integer> findOwnedShards(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_shard_leases
+        SET lease_until = :leaseUntil
+        WHERE owner = :owner AND lease_until > :now
+        """, nativeQuery = true)
+    int renew(@Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_shard_leases
+        SET owner = :owner, lease_until = :leaseUntil
+        WHERE owner IS NULL OR lease_until IS NULL OR lease_until <= :now
+        ORDER BY shard
+        LIMIT :count
+        """, nativeQuery = true)
+    int acquireFree(@Param("owner") String owner,
+                    @Param("now") LocalDateTime now,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("count") int count);
+
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_shard_leases
+        SET owner = NULL, lease_until = NULL
+        WHERE owner = :owner AND shard IN (:shards)
+        """, nativeQuery = true)
+    int release(@Param("owner") String owner, @Param("shards") Collection<Integer> shards);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE outbox_shard_leases
+        SET owner = NULL, lease_until = NULL
+        WHERE owner = :owner
+        """, nativeQuery = true)
+    int releaseAll(@Param("owner") String owner);
+}
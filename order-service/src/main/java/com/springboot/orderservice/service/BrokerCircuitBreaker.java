@@ -0,0 +1,110 @@
+package com.springboot.orderservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the outbox publisher from claiming rows while Kafka is unreachable.
+ * <p>
+ * After {@code failure-threshold} consecutive batches in which every send failed for
+ * broker reasons the breaker opens and no rows are claimed (so no row locks are held
+ * and no retries are spent). Once the open period has passed a single caller probes the
+ * cluster in HALF_OPEN state; on success the breaker closes and the claim size is reset,
+ * otherwise it reopens with a doubled open period up to {@code max-open-ms}.
+ */
+@Component
+@Slf4j
+public class BrokerCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final BrokerHealthProbe healthProbe;
+    private final OutboxClaimSizer claimSizer;
+
+    @Value("${app.outbox.circuit-breaker.failure-threshold:2}")
+    private int failureThreshold;
+
+    @Value("${app.outbox.circuit-breaker.open-ms:1000}")
+    private long initialOpenMs;
+
+    @Value("${app.outbox.circuit-breaker.max-open-ms:30000}")
+    private long maxOpenMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openMs;
+    private long openUntilMillis;
+
+    public BrokerCircuitBreaker(BrokerHealthProbe healthProbe, OutboxClaimSizer claimSizer) {
+        this.healthProbe = healthProbe;
+        this.claimSizer = claimSizer;
+    }
+
+    /**
+     * Whether the caller may claim and publish a batch now. While OPEN this returns
+     * {@code false} without any I/O, except for the one caller that runs the probe.
+     */
+    public boolean allowRequest() {
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN || System.currentTimeMillis() < openUntilMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+
+        boolean available = healthProbe.isAvailable();
+
+        synchronized (this) {
+            if (available) {
+                close();
+            } else {
+                open(Math.min(openMs * 2, maxOpenMs));
+            }
+            return available;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            close();
+        }
+    }
+
+    public synchronized void recordBrokerFailure() {
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open(initialOpenMs);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open(long durationMs) {
+        openMs = durationMs;
+        openUntilMillis = System.currentTimeMillis() + durationMs;
+        state = State.OPEN;
+        log.warn("Kafka unavailable, outbox publishing paused for {} ms", durationMs);
+    }
+
+    private void close() {
+        boolean wasOpen = state != State.CLOSED;
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openMs = initialOpenMs;
+        if (wasOpen) {
+            claimSizer.reset();
+            log.info("Kafka reachable again, outbox publishing resumed");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.springboot.orderservice.service;
+
+/**
+ * Cheap check whether the Kafka cluster is reachable, used by {@link BrokerCircuitBreaker}
+ * before it lets the outbox publisher claim rows again.
+ */
+public interface BrokerHealthProbe {
+
+    boolean isAvailable();
+}
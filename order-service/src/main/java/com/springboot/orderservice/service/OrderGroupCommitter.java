@@ -0,0 +1,233 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.OrderRequest;
+import com.springboot.orderservice.model.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opt-in group commit for single order creation. Concurrent requests are queued for at
+ * most {@code max-wait-ms} (or until {@code max-batch-size} requests are waiting) and
+ * written by one flusher thread in a single transaction, so the commit cost is shared
+ * by every caller in the group. Each caller blocks until the shared commit returns.
+ * <p>
+ * Every queued order is completed exactly once: by the flusher, by {@link #stop()} after
+ * the flusher has exited, or by its caller when it takes the order back out of the queue
+ * (shutdown raced with the offer, or the flusher did not pick it up within
+ * {@code pickup-timeout-ms}). Once picked up, the caller waits for the real outcome: the
+ * transaction may still commit, so giving up early would report a failure for an order
+ * that exists and invite a duplicate on retry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderGroupCommitter {
+
+    private final OrderService orderService;
+
+    @Value("${app.orders.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.orders.group-commit.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${app.orders.group-commit.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${app.orders.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.orders.group-commit.pickup-timeout-ms:30000}")
+    private long pickupTimeoutMs;
+
+    private BlockingQueue<PendingOrder> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private record PendingOrder(OrderRequest request, CompletableFuture<Order> result) {
+    }
+
+    /**
+     * Completes orders the flusher dropped without writing them; their callers commit directly.
+     */
+    private static final class NotWrittenException extends RuntimeException {
+        NotWrittenException() {
+            super("Order was not written by the group commit", null, false, false);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "order-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Order group commit enabled: max wait {} ms, max batch size {}", maxWaitMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // orders offered before the flusher exited but not picked up by it
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Order createOrder(OrderRequest request) {
+        PendingOrder pending = new PendingOrder(request, new CompletableFuture<>());
+
+        if (!running || !queue.offer(pending)) {
+            // Queue saturated or shutting down: commit on the caller's thread instead
+            log.debug("Group commit queue unavailable, creating order directly");
+            return orderService.createOrder(request);
+        }
+        if (!running && queue.remove(pending)) {
+            // stop() began after the check above and may have drained the queue already
+            return orderService.createOrder(request);
+        }
+
+        try {
+            try {
+                return pending.result().get(pickupTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (queue.remove(pending)) {
+                    // never picked up (e.g. the flusher is stuck): nothing was written yet
+                    log.warn("Group commit did not pick up order within {} ms, creating it directly", pickupTimeoutMs);
+                    return orderService.createOrder(request);
+                }
+                // in the flusher's hands, which always completes it
+                return pending.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NotWrittenException) {
+                return orderService.createOrder(request);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    private void runFlushLoop() {
+        try {
+            flushUntilStopped();
+        } finally {
+            if (running) {
+                // the loop died (an Error escaped): send new callers down the direct path, and
+                // hand the queued ones back; callers offering after this see running == false
+                running = false;
+                List<PendingOrder> remaining = new ArrayList<>();
+                queue.drainTo(remaining);
+                remaining.forEach(pending -> pending.result().completeExceptionally(new NotWrittenException()));
+                log.error("Order group commit flusher stopped unexpectedly, committing orders directly");
+            }
+        }
+    }
+
+    private void flushUntilStopped() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+
+        while (running) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+    }
+
+    private void flush(List<PendingOrder> batch) {
+        try {
+            persist(batch);
+        } finally {
+            // waiters of an order that was not completed (an Error escaped) must not hang
+            for (PendingOrder pending : batch) {
+                pending.result().completeExceptionally(new IllegalStateException("Group commit failed"));
+            }
+        }
+    }
+
+    private void persist(List<PendingOrder> batch) {
+        try {
+            List<Order> savedOrders = orderService.persistOrders(batch.stream()
+                    .map(PendingOrder::request)
+                    .toList());
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(savedOrders.get(i));
+            }
+            log.debug("Group commit stored {} orders", batch.size());
+        } catch (RuntimeException e) {
+            // One bad order must not fail the whole group: retry each on its own
+            log.warn("Group commit of {} orders failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingOrder pending : batch) {
+                try {
+                    pending.result().complete(orderService.createOrder(pending.request()));
+                } catch (RuntimeException ex) {
+                    pending.result().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.springboot.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.orderservice.dto.BulkItemStatusEnum;
+import com.springboot.orderservice.dto.BulkOrderItemResult;
+import com.springboot.orderservice.dto.OrderImportProgress;
+import com.springboot.orderservice.dto.OrderRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports newline-delimited JSON order feeds. The input is read line by line and
+ * committed in fixed-size chunks through {@link OrderService#createOrders(List)},
+ * so memory use is bounded by the chunk size rather than the upload size.
+ * Rejected lines and per-chunk progress are written back as NDJSON while the
+ * import is running. Lines longer than {@code max-line-length} are rejected without
+ * being buffered.
+ */
+@Service
+@Slf4j
+public class OrderImportService {
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader orderRequestReader;
+
+    @Value("${app.orders.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.orders.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${app.orders.import.max-line-length:16384}")
+    private int maxLineLength;
+
+    @Value("${app.orders.import.timeout-ms:0}")
+    private long timeoutMs;
+
+    public OrderImportService(OrderService orderService, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.orderRequestReader = objectMapper.readerFor(OrderRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Async timeout of the streaming import request; 0 or less means no timeout, so large
+     * imports are not cut off by the default MVC async timeout.
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public OrderImportProgress importOrders(InputStream input, OutputStream output) throws IOException {
+        int effectiveChunkSize = Math.max(1, Math.min(chunkSize, maxBatchSize));
+        log.info("Starting NDJSON order import with chunk size: {}", effectiveChunkSize);
+
+        List<OrderRequest> chunk = new ArrayList<>(effectiveChunkSize);
+        List<Long> chunkLineNumbers = new ArrayList<>(effectiveChunkSize);
+
+        long linesRead = 0;
+        long created = 0;
+        long rejected = 0;
+        int chunksCommitted = 0;
+
+        BoundedLineReader reader = new BoundedLineReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), maxLineLength);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesRead++;
+                if (reader.isTooLong()) {
+                    rejected++;
+                    writeLine(output, BulkOrderItemResult.rejected(
+                            (int) linesRead, List.of("Line exceeds " + maxLineLength + " characters")));
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    chunk.add(orderRequestReader.readValue(line));
+                    chunkLineNumbers.add(linesRead);
+                } catch (JsonProcessingException e) {
+                    rejected++;
+                    writeLine(output, BulkOrderItemResult.rejected(
+                            (int) linesRead, List.of("Malformed JSON: " + e.getOriginalMessage())));
+                }
+
+                if (chunk.size() == effectiveChunkSize) {
+                    int chunkCreated = commitChunk(chunk, chunkLineNumbers, output);
+                    created += chunkCreated;
+                    rejected += chunk.size() - chunkCreated;
+                    chunksCommitted++;
+                    chunk = new ArrayList<>(effectiveChunkSize);
+                    chunkLineNumbers = new ArrayList<>(effectiveChunkSize);
+                    writeLine(output, progress(linesRead, created, rejected, chunksCommitted, false, null));
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                int chunkCreated = commitChunk(chunk, chunkLineNumbers, output);
+                created += chunkCreated;
+                rejected += chunk.size() - chunkCreated;
+                chunksCommitted++;
+            }
+        } catch (RuntimeException e) {
+            // Earlier chunks stay committed; report where the import stopped
+            log.error("Order import aborted after {} lines: {}", linesRead, e.getMessage(), e);
+            OrderImportProgress summary = progress(linesRead, created, rejected, chunksCommitted, false, e.getMessage());
+            writeLine(output, summary);
+            return summary;
+        }
+
+        OrderImportProgress summary = progress(linesRead, created, rejected, chunksCommitted, true, null);
+        writeLine(output, summary);
+        log.info("NDJSON order import finished: {} lines, {} created, {} rejected",
+                linesRead, created, rejected);
+        return summary;
+    }
+
+    private int commitChunk(List<OrderRequest> chunk,
+                            List<Long> lineNumbers,
+                            OutputStream output) throws IOException {
+        List<BulkOrderItemResult> results = orderService.createOrders(chunk);
+
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            BulkOrderItemResult result = results.get(i);
+            if (result.getStatus() == BulkItemStatusEnum.CREATED) {
+                created++;
+            } else {
+                writeLine(output, BulkOrderItemResult.rejected(
+                        lineNumbers.get(i).intValue(), result.getErrors()));
+            }
+        }
+        return created;
+    }
+
+    private OrderImportProgress progress(long linesRead, long created, long rejected,
+                                         int chunksCommitted, boolean completed, String error) {
+        return OrderImportProgress.builder()
+                .linesRead(linesRead)
+                .createdCount(created)
+                .rejectedCount(rejected)
+                .chunksCommitted(chunksCommitted)
+                .completed(completed)
+                .error(error)
+                .build();
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+        output.flush();
+    }
+
+    /**
+     * Reads lines like {@link BufferedReader#readLine()}, but keeps at most
+     * {@code maxLength} characters of a line; the rest of a longer line is skipped.
+     */
+    private static final class BoundedLineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean tooLong;
+
+        private BoundedLineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return the next line without its terminator, cut off if {@link #isTooLong()};
+         * {@code null} at the end of the input
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    // JSON cannot contain a raw carriage return, so this is part of a CRLF
+                    continue;
+                }
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            return read ? line.toString() : null;
+        }
+
+        private boolean isTooLong() {
+            return tooLong;
+        }
+    }
+}
@@ -1,24 +1,40 @@
 package com.springboot.orderservice.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.orderservice.dto.BulkOrderItemResult;
 import com.springboot.orderservice.dto.EventStatusEnum;
 import com.springboot.orderservice.dto.OrderRequest;
-import com.springboot.orderservice.dto.event.OrderCreated;
+import com.springboot.orderservice.dto.OutboxPayloadModeEnum;
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.exception.InvalidBatchException;
 import com.springboot.orderservice.exception.OrderNotFoundException;
 import com.springboot.orderservice.mapper.OrderMapper;
 import com.springboot.orderservice.model.Order;
 import com.springboot.orderservice.model.OutboxEvent;
 import com.springboot.orderservice.repository.OrderRepository;
 import com.springboot.orderservice.repository.OutboxRepository;
+import com.springboot.orderservice.utility.EventIdGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -27,7 +43,21 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OutboxRepository outboxRepository;
     private final OrderMapper orderMapper;
-    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxShardRouter shardRouter;
+
+    @Value("${app.orders.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${app.outbox.payload-mode:FULL}")
+    private OutboxPayloadModeEnum payloadMode;
+
+    @Value("${app.outbox.fast-path.enabled:true}")
+    private boolean fastPathEnabled;
+
+    @Value("${app.outbox.fast-path.grace-ms:2000}")
+    private long fastPathGraceMs;
 
     @Transactional
     public Order createOrder(OrderRequest request) {
@@ -39,29 +69,71 @@ public class OrderService {
         // Save Order
         Order savedOrder = orderRepository.save(order);
 
-        try {
-            // Mapping order entity to OrderCreated event
-            OrderCreated event = orderMapper.toEvent(savedOrder);
+        // Save Outbox Event (Same Transaction)
+        OutboxEvent outboxEvent = toOutboxEvent(savedOrder);
+        outboxRepository.save(outboxEvent);
+        eventPublisher.publishEvent(OutboxEventsStored.of(List.of(outboxEvent)));
+        log.info("Outbox event stored successfully for order id: {} , eventId: {}", savedOrder.getId(), outboxEvent.getEventId());
 
-            String jsonPayload = objectMapper.writeValueAsString(event);
+        log.info("Order created successfully with id: {}", savedOrder.getId());
+        return savedOrder;
+    }
 
-            // Save Outbox Event (Same Transaction)
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .eventId(event.eventId())
-                    .eventType("ORDER")
-                    .payload(jsonPayload)
-                    .status(EventStatusEnum.PENDING)
-                    .build();
+    /**
+     * Validates every request individually and stores all valid orders together with
+     * their outbox events in a single transaction. Invalid items are reported back
+     * without failing the rest of the batch.
+     */
+    @Transactional
+    public List<BulkOrderItemResult> createOrders(List<OrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBatchException("Order batch must contain at least one order");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidBatchException(
+                    "Order batch size " + requests.size() + " exceeds the maximum of " + maxBatchSize);
+        }
 
-            outboxRepository.save(outboxEvent);
-            log.info("Outbox event stored successfully for order id: {} , eventId: {}", savedOrder.getId(), event.eventId());
-        } catch (JsonProcessingException e) {
-            log.error("JSON mapping failed for order: {}", savedOrder.getId(), e);
-            throw new RuntimeException("Could not serialize order event", e);
+        log.info("Creating order batch of size: {}", requests.size());
+
+        BulkOrderItemResult[] results = new BulkOrderItemResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+        List<Order> orders = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BulkOrderItemResult.rejected(i, errors);
+                continue;
+            }
+            acceptedIndexes.add(i);
+            orders.add(orderMapper.toEntity(requests.get(i)));
         }
 
-        log.info("Order created successfully with id: {}", savedOrder.getId());
-        return savedOrder;
+        if (!orders.isEmpty()) {
+            List<Order> savedOrders = saveWithOutboxEvents(orders);
+
+            for (int i = 0; i < savedOrders.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                results[index] = BulkOrderItemResult.created(index, savedOrders.get(i).getId());
+            }
+        }
+
+        log.info("Order batch stored: {} created, {} rejected",
+                orders.size(), requests.size() - orders.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stores already validated requests and their outbox events in one transaction.
+     * Used by {@link OrderGroupCommitter} to share a single commit between concurrent callers.
+     */
+    @Transactional
+    public List<Order> persistOrders(List<OrderRequest> requests) {
+        log.info("Persisting {} orders in one transaction", requests.size());
+        return saveWithOutboxEvents(requests.stream()
+                .map(orderMapper::toEntity)
+                .toList());
     }
 
     @Transactional(readOnly = true)
@@ -77,4 +149,62 @@ public class OrderService {
         return orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
     }
+
+    private List<Order> saveWithOutboxEvents(List<Order> orders) {
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        List<OutboxEvent> outboxEvents = outboxRepository.saveAll(savedOrders.stream()
+                .map(this::toOutboxEvent)
+                .toList());
+        eventPublisher.publishEvent(OutboxEventsStored.of(outboxEvents));
+        return savedOrders;
+    }
+
+    private List<String> validate(OrderRequest request) {
+        if (request == null) {
+            return List.of("Order request must not be null");
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    // With the fast path on, the poller leaves new rows alone until the grace period is over
+    private LocalDateTime firstAttemptAt() {
+        LocalDateTime now = LocalDateTime.now();
+        return fastPathEnabled ? now.plusNanos(fastPathGraceMs * 1_000_000) : now;
+    }
+
+    private OutboxEvent toOutboxEvent(Order savedOrder) {
+        OutboxEvent.OutboxEventBuilder outboxEvent = OutboxEvent.builder()
+                .eventType("ORDER")
+                .aggregateId(savedOrder.getId())
+                .shard(shardRouter.shardFor(String.valueOf(savedOrder.getId())))
+                .status(EventStatusEnum.PENDING)
+                .nextAttemptAt(firstAttemptAt());
+
+        if (payloadMode == OutboxPayloadModeEnum.REFERENCE) {
+            // the order row already holds everything; the publisher rebuilds the event from it
+            return outboxEvent
+                    .eventId(EventIdGenerator.newEventId())
+                    .build();
+        }
+
+        try {
+            // Mapping order entity to OrderCreated event
+            OrderCreated event = orderMapper.toEvent(savedOrder);
+
+            // written exactly as JsonSerializer used to put it on the wire, since it is published as stored
+            String jsonPayload = new String(OrderCreatedJson.encode(event), StandardCharsets.UTF_8);
+
+            return outboxEvent
+                    .eventId(event.eventId())
+                    .payload(jsonPayload)
+                    .build();
+        } catch (UncheckedIOException e) {
+            log.error("JSON mapping failed for order: {}", savedOrder.getId(), e);
+            throw new RuntimeException("Could not serialize order event", e);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.springboot.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springboot.orderservice.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes outbox rows to gzip-compressed NDJSON files before the retention job deletes
+ * them. Each batch becomes one file, written under a temporary name and moved into
+ * place once complete, so a crash never leaves a truncated archive behind.
+ */
+@Component
+@Slf4j
+public class OutboxArchiveWriter {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectWriter lineWriter;
+
+    @Value("${app.outbox.retention.archive.directory:outbox-archive}")
+    private String directory;
+
+    public OutboxArchiveWriter(ObjectMapper objectMapper) {
+        this.lineWriter = objectMapper.writerFor(OutboxEvent.class);
+    }
+
+    public Path write(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to archive");
+        }
+
+        String name = "outbox-events-%s-%d.ndjson.gz".formatted(
+                LocalDateTime.now().format(FILE_TIMESTAMP), events.get(0).getOutboxId());
+
+        try {
+            Path dir = Files.createDirectories(Paths.get(directory));
+            Path target = dir.resolve(name);
+            Path temp = dir.resolve(name + ".part");
+
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                for (OutboxEvent event : events) {
+                    writer.write(lineWriter.writeValueAsString(event));
+                    writer.write('\n');
+                }
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Archived {} outbox events to {}", events.size(), target);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive outbox events", e);
+        }
+    }
+}
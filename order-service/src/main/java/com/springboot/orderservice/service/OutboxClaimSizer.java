@@ -0,0 +1,69 @@
+package com.springboot.orderservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how many outbox rows to claim per batch. The claim size doubles while batches
+ * come back full and the broker keeps up, and halves when publishing a batch takes
+ * longer than the target latency, so row locks stay short when Kafka slows down.
+ */
+@Component
+@Slf4j
+public class OutboxClaimSizer {
+
+    @Value("${app.outbox.claim.initial-size:50}")
+    private int initialSize;
+
+    @Value("${app.outbox.claim.min-size:10}")
+    private int minSize;
+
+    @Value("${app.outbox.claim.max-size:500}")
+    private int maxSize;
+
+    @Value("${app.outbox.claim.target-latency-ms:500}")
+    private long targetLatencyMs;
+
+    private volatile int currentSize;
+
+    @PostConstruct
+    public void init() {
+        currentSize = clamp(initialSize);
+    }
+
+    public int currentSize() {
+        return currentSize;
+    }
+
+    /**
+     * Adjusts the claim size after a batch.
+     *
+     * @param limit          the claim size used for the batch
+     * @param claimed        rows actually claimed
+     * @param publishLatencyMs time from the first send until every send completed
+     */
+    public synchronized void record(int limit, int claimed, long publishLatencyMs) {
+        int previous = currentSize;
+
+        if (publishLatencyMs > targetLatencyMs) {
+            currentSize = clamp(previous / 2);
+        } else if (claimed >= limit) {
+            currentSize = clamp(previous * 2);
+        }
+
+        if (currentSize != previous) {
+            log.info("Outbox claim size changed from {} to {} (claimed {}, publish latency {} ms)",
+                    previous, currentSize, claimed, publishLatencyMs);
+        }
+    }
+
+    public void reset() {
+        currentSize = clamp(initialSize);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
@@ -0,0 +1,101 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.exception.InvalidBatchException;
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import com.springboot.orderservice.repository.OutboxDeadLetterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Inspection and requeue tooling for outbox events that ran out of publish attempts.
+ * Requeued events go back to the outbox as PENDING with a fresh retry budget. With the
+ * binlog relay the published original is still in the outbox; it is replaced, so the
+ * requeued row is a new insert that the relay publishes again.
+ */
+@Service
+@Slf4j
+public class OutboxDeadLetterService {
+
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.dead-letter.requeue-batch-size:1000}")
+    private int requeueBatchSize;
+
+    public OutboxDeadLetterService(OutboxDeadLetterRepository deadLetterRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OutboxDeadLetter> getDeadLetters(int page, int size) {
+        log.info("Fetching dead-lettered outbox events - Page: {}, Size: {}", page, size);
+        return deadLetterRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "failedAt")));
+    }
+
+    /**
+     * Requeues the given dead letters; ids that are not dead-lettered are ignored.
+     *
+     * @return number of events put back into the outbox
+     */
+    public int requeue(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidBatchException("At least one dead letter id is required");
+        }
+        if (ids.size() > requeueBatchSize) {
+            throw new InvalidBatchException("At most " + requeueBatchSize + " dead letters can be requeued at once");
+        }
+        int requeued = requeueInTransaction(ids);
+        log.info("Requeued {} dead-lettered outbox events", requeued);
+        return requeued;
+    }
+
+    /**
+     * Requeues every dead letter, one transaction per {@code requeue-batch-size} rows.
+     *
+     * @return number of events put back into the outbox
+     */
+    public int requeueAll() {
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = deadLetterRepository.findIds(requeueBatchSize);
+            if (!ids.isEmpty()) {
+                total += requeueInTransaction(ids);
+            }
+        } while (ids.size() == requeueBatchSize);
+
+        log.info("Requeued all {} dead-lettered outbox events", total);
+        return total;
+    }
+
+    private int requeueInTransaction(Collection<Long> ids) {
+        Integer requeued = transactionTemplate.execute(status -> {
+            deadLetterRepository.deleteOriginals(ids);
+            int copied = deadLetterRepository.copyToOutbox(ids, LocalDateTime.now());
+            deadLetterRepository.deleteByIds(ids);
+            if (copied > 0) {
+                eventPublisher.publishEvent(new OutboxEventsStored(copied));
+            }
+            return copied;
+        });
+        return requeued != null ? requeued : 0;
+    }
+}
@@ -1,19 +1,39 @@
 package com.springboot.orderservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.eventcontract.codec.OrderCreatedEnvelope;
 import com.springboot.orderservice.dto.EventStatusEnum;
-import com.springboot.orderservice.dto.event.OrderCreated;
+import com.springboot.orderservice.model.OutboxDeadLetter;
 import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxDeadLetterRepository;
 import com.springboot.orderservice.repository.OutboxRepository;
+import com.springboot.orderservice.utility.OutboxRecords;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +41,11 @@ import java.util.List;
 public class OutboxEventProcessService {
 
     private final OutboxRepository outboxRepository;
-    private final KafkaTemplate<String, OrderCreated> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxClaimSizer claimSizer;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final BrokerCircuitBreaker circuitBreaker;
+    private final OutboxPayloadResolver payloadResolver;
 
     @Value("${app.kafka.topic.order-created}")
     private String topic;
@@ -30,39 +53,389 @@ public class OutboxEventProcessService {
     @Value("${app.kafka.max-retry-attempts:5}")
     private int maxRetryAttempts;
 
+    @Value("${app.outbox.retry.base-delay-ms:1000}")
+    private long retryBaseDelayMs;
+
+    @Value("${app.outbox.retry.max-delay-ms:300000}")
+    private long retryMaxDelayMs;
+
+    @Value("${app.outbox.pipelined-sends:true}")
+    private boolean pipelinedSends;
+
+    @Value("${app.outbox.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.outbox.envelope.enabled:false}")
+    private boolean envelopeEnabled;
+
+    @Value("${app.outbox.envelope.max-events:100}")
+    private int envelopeMaxEvents;
+
+    // Runs sends chained behind an earlier send for the same key, which would otherwise run on
+    // the producer's network thread that completed the earlier one and block it for max.block.ms
+    private final ExecutorService chainedSendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-chained-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Outcome of one claimed batch; a full batch means more rows are probably waiting.
+     */
+    public record BatchResult(int claimed, boolean full) {
+        static final BatchResult EMPTY = new BatchResult(0, false);
+    }
+
+    /**
+     * Claims and publishes one batch of pending events from the given shards, then writes
+     * all outcomes back with two set-based updates instead of one UPDATE per event.
+     */
     @Transactional
-    public void processBatch() {
+    public BatchResult processBatch(Collection<Integer> shards) {
 
-        log.info("Starting outbox batch processing...");
+        log.debug("Starting outbox batch processing...");
 
-        List<OutboxEvent> events = outboxRepository.findBatchForUpdate();
+        int limit = claimSizer.currentSize();
+        List<OutboxEvent> events = new ArrayList<>();
+        boolean full = claim(shards, limit, events);
+        if (events.isEmpty()) {
+            log.debug("No pending outbox events found.");
+            return BatchResult.EMPTY;
+        }
+
+        Map<Long, byte[]> values = payloadResolver.resolve(events);
+
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<SendResult<String, byte[]>>> sends;
+        if (envelopeEnabled) {
+            sends = sendEnveloped(events, values);
+        } else if (pipelinedSends) {
+            sends = sendPipelined(events, values);
+        } else {
+            sends = sendSequentially(events, values);
+        }
+        long publishLatencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        if (isBrokerOutage(sends)) {
+            // Nothing got through and every failure points at the cluster, not the events:
+            // leave the rows untouched so no retry is spent on them
+            circuitBreaker.recordBrokerFailure();
+            claimSizer.record(limit, events.size(), publishLatencyMs);
+            log.warn("Kafka unavailable, {} outbox events left pending: {}",
+                    events.size(), failureMessage(sends.get(0)));
+            return new BatchResult(events.size(), false);
+        }
+
+        if (sends.stream().noneMatch(CompletableFuture::isDone)) {
+            // not a single acknowledgement: most likely the cluster, so let the breaker know
+            circuitBreaker.recordBrokerFailure();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        List<Long> failedIds = new ArrayList<>();
+        List<Long> notSentIds = new ArrayList<>();
+        int maxFailedRetryCount = -1;
+        List<OutboxDeadLetter> deadLetters = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            CompletableFuture<SendResult<String, byte[]>> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                log.debug("Event published successfully for eventId: {}", event.getEventId());
+                publishedIds.add(event.getOutboxId());
+                continue;
+            }
+
+            if (send.isDone() && failureOf(send) instanceof NotSentException) {
+                // never handed to the producer, so no attempt is charged
+                notSentIds.add(event.getOutboxId());
+                continue;
+            }
+
+            String error = failureMessage(send);
+            log.error("Failed to publish Event for eventId: {}, error: {}", event.getEventId(), error);
+            if (event.getRetryCount() + 1 >= maxRetryAttempts) {
+                deadLetters.add(OutboxDeadLetter.from(event, error, now));
+            } else {
+                failedIds.add(event.getOutboxId());
+                maxFailedRetryCount = Math.max(maxFailedRetryCount, event.getRetryCount());
+            }
+        }
+
+        if (!publishedIds.isEmpty()) {
+            outboxRepository.markProcessed(publishedIds, now, EventStatusEnum.PROCESSED);
+            circuitBreaker.recordSuccess();
+        }
+        if (!failedIds.isEmpty()) {
+            outboxRepository.markForRetry(failedIds, now, retryBaseDelayMs, retryMaxDelayMs);
+        }
+        if (!notSentIds.isEmpty()) {
+            outboxRepository.reschedule(notSentIds, now.plusNanos(
+                    TimeUnit.MILLISECONDS.toNanos(maxRetryDelayMs(maxFailedRetryCount))), now);
+        }
+        if (!deadLetters.isEmpty()) {
+            deadLetterRepository.saveAll(deadLetters);
+            outboxRepository.deleteByIds(deadLetters.stream().map(OutboxDeadLetter::getOutboxId).toList());
+            log.warn("Moved {} outbox events to the dead-letter table after {} attempts",
+                    deadLetters.size(), maxRetryAttempts);
+        }
+
+        claimSizer.record(limit, events.size(), publishLatencyMs);
+
+        log.info("Finished outbox batch processing: {} published, {} retrying, {} not sent, {} dead-lettered, {} ms",
+                publishedIds.size(), failedIds.size(), notSentIds.size(), deadLetters.size(), publishLatencyMs);
+        return new BatchResult(events.size(), full);
+    }
+
+    /**
+     * Claims up to {@code limit} due rows with one query per shard, each shard taking an equal
+     * share, so a backlog in one shard cannot starve the others. Rows are ordered within a
+     * shard only, which is all that ordering per key needs. Returns whether any shard filled
+     * its share, i.e. whether more rows are probably waiting.
+     */
+    private boolean claim(Collection<Integer> shards, int limit, List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        int share = (limit + shards.size() - 1) / shards.size();
+        boolean full = false;
+        for (int shard : shards) {
+            int take = Math.min(share, limit - events.size());
+            if (take <= 0) {
+                break;
+            }
+            List<OutboxEvent> claimed = outboxRepository.findBatchForUpdate(shard, now, take);
+            events.addAll(claimed);
+            full |= claimed.size() >= take;
+        }
+        return full;
+    }
+
+    /**
+     * Sends the whole claimed batch without blocking and waits for all acknowledgements
+     * against one shared deadline. Events that share a key are chained, so a later event
+     * is only sent once the previous one for the same key has been acknowledged; if that
+     * one fails, the rest of the chain is not sent and stays pending without being charged
+     * an attempt.
+     */
+    private List<CompletableFuture<SendResult<String, byte[]>>> sendPipelined(List<OutboxEvent> events,
+                                                                             Map<Long, byte[]> values) {
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(events.size());
+        Map<String, CompletableFuture<SendResult<String, byte[]>>> lastSendByKey = new HashMap<>();
+
+        Throwable brokerFailure = null;
 
         for (OutboxEvent event : events) {
-            processSingleEvent(event);
+            String key = OutboxRecords.key(event);
+            CompletableFuture<SendResult<String, byte[]>> previous = lastSendByKey.get(key);
+            CompletableFuture<SendResult<String, byte[]>> send;
+            if (brokerFailure != null) {
+                // each further send would block for max.block.ms as well
+                send = CompletableFuture.failedFuture(brokerFailure);
+            } else if (previous == null) {
+                send = send(event, values);
+                brokerFailure = synchronousBrokerFailure(send);
+            } else {
+                send = sendAfter(previous, () -> send(event, values));
+            }
+
+            lastSendByKey.put(key, send);
+            sends.add(send);
         }
 
-        log.info("Finished outbox batch processing.");
+        awaitAll(sends);
+        return sends;
     }
 
-    public void processSingleEvent(OutboxEvent outboxEvent){
+    /**
+     * Packs the events of each key into envelopes of up to {@code max-events}, sent as one
+     * record each, so a burst for one key costs one record instead of one per event. Every
+     * event takes its envelope's outcome, and a key's envelopes are chained like pipelined
+     * single sends. A key with a single event is still sent as a plain record.
+     */
+    private List<CompletableFuture<SendResult<String, byte[]>>> sendEnveloped(List<OutboxEvent> events,
+                                                                             Map<Long, byte[]> values) {
+        Map<String, List<Integer>> packableByKey = new LinkedHashMap<>();
+        List<CompletableFuture<SendResult<String, byte[]>>> sends =
+                new ArrayList<>(Collections.nCopies(events.size(), null));
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            if (values.containsKey(event.getOutboxId())) {
+                packableByKey.computeIfAbsent(OutboxRecords.key(event), key -> new ArrayList<>()).add(i);
+            } else {
+                sends.set(i, send(event, values)); // fails without a value
+            }
+        }
+
+        Throwable brokerFailure = null;
+
+        for (Map.Entry<String, List<Integer>> group : packableByKey.entrySet()) {
+            String key = group.getKey();
+            List<Integer> indexes = group.getValue();
+            CompletableFuture<SendResult<String, byte[]>> previous = null;
+            for (int from = 0; from < indexes.size(); from += envelopeMaxEvents) {
+                List<Integer> members = indexes.subList(from, Math.min(from + envelopeMaxEvents, indexes.size()));
+                List<byte[]> entries = members.stream()
+                        .map(index -> values.get(events.get(index).getOutboxId()))
+                        .toList();
+                byte[] value = entries.size() == 1 ? entries.get(0) : OrderCreatedEnvelope.pack(entries);
+
+                CompletableFuture<SendResult<String, byte[]>> send;
+                if (brokerFailure != null) {
+                    send = CompletableFuture.failedFuture(brokerFailure);
+                } else if (previous == null) {
+                    send = send(key, value);
+                    brokerFailure = synchronousBrokerFailure(send);
+                } else {
+                    send = sendAfter(previous, () -> send(key, value));
+                }
+
+                previous = send;
+                for (int index : members) {
+                    sends.set(index, send);
+                }
+            }
+        }
+
+        awaitAll(sends);
+        return sends;
+    }
+
+    private List<CompletableFuture<SendResult<String, byte[]>>> sendSequentially(List<OutboxEvent> events,
+                                                                                Map<Long, byte[]> values) {
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(events.size());
+        Throwable brokerFailure = null;
+        for (OutboxEvent event : events) {
+            if (brokerFailure != null) {
+                sends.add(CompletableFuture.failedFuture(brokerFailure));
+                continue;
+            }
+            CompletableFuture<SendResult<String, byte[]>> send = send(event, values);
+            awaitAll(List.of(send));
+            brokerFailure = synchronousBrokerFailure(send);
+            sends.add(send);
+        }
+        return sends;
+    }
+
+    /**
+     * Sends once {@code previous} has been acknowledged, off the producer's network thread.
+     * If {@code previous} failed, the result fails with a {@link NotSentException} instead.
+     */
+    private CompletableFuture<SendResult<String, byte[]>> sendAfter(
+            CompletableFuture<SendResult<String, byte[]>> previous,
+            Supplier<CompletableFuture<SendResult<String, byte[]>>> send) {
+        return previous
+                .handle((result, failure) -> failure)
+                .thenComposeAsync(failure -> failure == null
+                        ? send.get()
+                        : CompletableFuture.failedFuture(new NotSentException(failure)), chainedSendExecutor);
+    }
+
+    @PreDestroy
+    public void stop() {
+        chainedSendExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxEvent event, Map<Long, byte[]> values) {
+        byte[] value = values.get(event.getOutboxId());
+        if (value == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Order " + event.getAggregateId() + " not found"));
+        }
+        return send(OutboxRecords.key(event), value);
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(String key, byte[] value) {
+        try {
+            return kafkaTemplate.send(topic, key, value);
+        } catch (RuntimeException e) {
+            // send() can fail synchronously, e.g. when topic metadata is unavailable
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void awaitAll(List<CompletableFuture<SendResult<String, byte[]>>> sends) {
         try {
-            OrderCreated orderCreatedEvent = objectMapper.readValue(outboxEvent.getPayload(), OrderCreated.class);
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Individual outcomes are inspected per event
+            log.debug("Not all outbox sends completed successfully: {}", e.getMessage());
+        }
+    }
 
-            kafkaTemplate.send(topic, orderCreatedEvent.eventId(), orderCreatedEvent).get();
-            log.info("Event published successfully for eventId: {}", orderCreatedEvent.eventId());
-            log.debug("Published event payload: {}", outboxEvent.getPayload());
+    private Throwable synchronousBrokerFailure(CompletableFuture<?> send) {
+        if (!send.isCompletedExceptionally()) {
+            return null;
+        }
+        Throwable cause = failureOf(send);
+        return isBrokerFailure(cause) ? cause : null;
+    }
 
-            outboxEvent.setStatus(EventStatusEnum.PROCESSED);
-            outboxEvent.setProcessedAt(LocalDateTime.now());
+    private boolean isBrokerOutage(List<CompletableFuture<SendResult<String, byte[]>>> sends) {
+        for (CompletableFuture<SendResult<String, byte[]>> send : sends) {
+            if (!send.isDone()) {
+                // no acknowledgement in time: the record may still land, so the outcome is
+                // unknown and the row is charged an attempt rather than left for a free resend
+                return false;
+            }
+            if (!send.isCompletedExceptionally() || !isBrokerFailure(failureOf(send))) {
+                return false;
+            }
         }
-        catch (Exception e) {
-            log.error("Failed to publish Event for eventId: {}, error: {}", outboxEvent.getEventId(), e.getMessage());
-            outboxEvent.incrementRetryCount();
-            outboxEvent.setLastAttemptAt(LocalDateTime.now());
+        return true;
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> send) {
+        try {
+            send.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
 
-            if (outboxEvent.getRetryCount() >= maxRetryAttempts) {
-                outboxEvent.setStatus(EventStatusEnum.FAILED);
+    // Retriable Kafka errors (timeouts, lost connections, missing leaders) say nothing about the record itself
+    private static boolean isBrokerFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
             }
         }
+        return false;
+    }
+
+    // Upper bound of the backoff markForRetry picks after the given number of earlier attempts
+    private long maxRetryDelayMs(int retryCount) {
+        if (retryCount < 0) {
+            return 0;
+        }
+        long delayMs = retryBaseDelayMs << Math.min(retryCount, 30);
+        return delayMs < 0 ? retryMaxDelayMs : Math.min(retryMaxDelayMs, delayMs);
+    }
+
+    private String failureMessage(CompletableFuture<?> send) {
+        if (!send.isDone()) {
+            return "no acknowledgement within " + sendTimeoutMs + " ms";
+        }
+        try {
+            send.join();
+            return "unknown";
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage();
+        }
+    }
+
+    /**
+     * An event that was not handed to the producer because an earlier send for its key failed.
+     */
+    private static final class NotSentException extends RuntimeException {
+        NotSentException(Throwable earlierFailure) {
+            super("not sent, an earlier event for the same key failed", earlierFailure, false, false);
+        }
     }
 }
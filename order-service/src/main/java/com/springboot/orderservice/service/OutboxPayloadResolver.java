@@ -0,0 +1,98 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedCodec;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.orderservice.dto.OutboxPayloadModeEnum;
+import com.springboot.orderservice.mapper.OrderMapper;
+import com.springboot.orderservice.model.Order;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OrderRepository;
+import com.springboot.orderservice.utility.OutboxRecords;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Produces the Kafka record values for a group of outbox rows. Rows with a stored
+ * payload are published as-is; reference-mode rows (no payload) are rebuilt from their
+ * orders, loaded with one {@code SELECT ... WHERE id IN (...)} for the whole group.
+ * <p>
+ * Values built here are written in {@code app.kafka.order-created.content-type}. Stored
+ * payloads are always JSON and are published unchanged (consumers read both formats):
+ * transcoding them would mean a JSON read and a re-encode per row on every publish, so
+ * BINARY is only accepted together with {@code app.outbox.payload-mode: REFERENCE}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPayloadResolver {
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+
+    @Value("${app.kafka.order-created.content-type:JSON}")
+    private EventContentType contentType = EventContentType.JSON;
+
+    @Value("${app.outbox.payload-mode:FULL}")
+    private OutboxPayloadModeEnum payloadMode = OutboxPayloadModeEnum.FULL;
+
+    @PostConstruct
+    public void validate() {
+        if (contentType == EventContentType.BINARY && payloadMode == OutboxPayloadModeEnum.FULL) {
+            throw new IllegalStateException("app.kafka.order-created.content-type BINARY requires "
+                    + "app.outbox.payload-mode REFERENCE: FULL rows store JSON payloads");
+        }
+    }
+
+    /**
+     * @return record values by outbox id; rows whose order no longer exists are missing
+     */
+    public Map<Long, byte[]> resolve(Collection<OutboxEvent> events) {
+        Map<Long, byte[]> values = new HashMap<>(events.size() * 2);
+
+        List<Long> orderIds = events.stream()
+                .filter(event -> event.getPayload() == null)
+                .map(OutboxEvent::getAggregateId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Order> orders = orderIds.isEmpty()
+                ? Map.of()
+                : orderRepository.findAllById(orderIds).stream()
+                        .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        for (OutboxEvent event : events) {
+            if (event.getPayload() != null) {
+                // rows stored in FULL mode (or before a switch to REFERENCE) go out as stored JSON
+                values.put(event.getOutboxId(), OutboxRecords.value(event));
+                continue;
+            }
+            Order order = orders.get(event.getAggregateId());
+            if (order == null) {
+                log.warn("Order {} of outbox event {} not found", event.getAggregateId(), event.getEventId());
+                continue;
+            }
+            values.put(event.getOutboxId(), serialize(order, event.getEventId()));
+        }
+        return values;
+    }
+
+    private byte[] serialize(Order order, String eventId) {
+        OrderCreated event = orderMapper.toEvent(order, eventId);
+        return contentType == EventContentType.BINARY
+                ? OrderCreatedCodec.encode(event)
+                : OrderCreatedJson.encode(event);
+    }
+}
@@ -0,0 +1,137 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.dto.OutboxRelayModeEnum;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes published outbox rows once they are older than the configured TTL. Rows are
+ * removed in small batches with a pause in between, so the purge never holds long
+ * locks or floods the binlog while the publisher is claiming new rows. With archiving
+ * enabled every batch is written to disk before it is deleted.
+ * <p>
+ * The binlog relay never marks rows as processed, so in that mode every row past the
+ * TTL is purged regardless of status.
+ * <p>
+ * A run can take minutes, so it is handed off to a thread of its own: the shared
+ * scheduler thread stays free for the shard lease heartbeat, whose leases would otherwise
+ * expire during a long purge.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRetentionService {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxArchiveWriter archiveWriter;
+
+    @Value("${app.outbox.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.retention.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${app.outbox.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.outbox.retention.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.outbox.retention.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.retention.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.outbox.relay:POLLING}")
+    private OutboxRelayModeEnum relayMode;
+
+    private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean purging = new AtomicBoolean();
+
+    @Scheduled(fixedDelayString = "${app.outbox.retention.interval-ms:600000}",
+            initialDelayString = "${app.outbox.retention.initial-delay-ms:60000}")
+    public void purgeScheduled() {
+        if (!enabled || !purging.compareAndSet(false, true)) {
+            // disabled, or the previous run is still going
+            return;
+        }
+        purgeExecutor.execute(() -> {
+            try {
+                purge();
+            } catch (Exception e) {
+                log.error("Outbox retention run failed: {}", e.getMessage(), e);
+            } finally {
+                purging.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        // interrupts the pause between batches; the current batch is finished or rolled back
+        purgeExecutor.shutdownNow();
+    }
+
+    /**
+     * Removes processed rows created before now minus the TTL.
+     *
+     * @return number of rows deleted
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        int deleted = 0;
+        List<String> statuses = relayMode == OutboxRelayModeEnum.BINLOG
+                ? List.of(EventStatusEnum.PENDING.name(), EventStatusEnum.PROCESSED.name())
+                : List.of(EventStatusEnum.PROCESSED.name());
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = outboxRepository.findIdsCreatedBefore(statuses, cutoff, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            if (archiveEnabled) {
+                List<OutboxEvent> events = outboxRepository.findAllById(ids);
+                archiveWriter.write(events);
+            }
+            deleted += outboxRepository.deleteByIds(ids);
+
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("Outbox retention removed {} events created before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.repository.OutboxPublisherInstanceRepository;
+import com.springboot.orderservice.repository.OutboxShardLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Distributes outbox shards across running instances with time-bound leases. Every
+ * heartbeat an instance renews its leases, works out its fair share
+ * ({@code ceil(shards / live instances)}) and either releases surplus shards or picks
+ * up free and expired ones. A shard is only drained by the instance holding its lease,
+ * so events of one key are never published by two instances at once.
+ */
+@Service
+@ConditionalOnProperty(name = "app.outbox.relay", havingValue = "POLLING", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxShardLeaseManager {
+
+    private final OutboxShardLeaseRepository leaseRepository;
+    private final OutboxPublisherInstanceRepository instanceRepository;
+    private final OutboxShardRouter shardRouter;
+
+    @Value("${app.outbox.sharding.instance-id:}")
+    private String configuredInstanceId;
+
+    @Value("${app.outbox.sharding.lease-duration-ms:15000}")
+    private long leaseDurationMs;
+
+    private String instanceId;
+    private boolean shardRowsCreated;
+
+    private volatile List<Integer> ownedShards = List.of();
+    private volatile LocalDateTime leaseValidUntil = LocalDateTime.MIN;
+
+    @PostConstruct
+    public void init() {
+        instanceId = configuredInstanceId.isBlank() ? defaultInstanceId() : configuredInstanceId;
+        log.info("Outbox publisher instance id: {}", instanceId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.sharding.heartbeat-interval-ms:5000}")
+    @Transactional
+    public void rebalance() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(leaseDurationMs * 1_000_000);
+        LocalDateTime liveAfter = now.minusNanos(leaseDurationMs * 1_000_000);
+        int shardCount = shardRouter.getShardCount();
+
+        if (!shardRowsCreated) {
+            IntStream.range(0, shardCount).forEach(leaseRepository::insertIfMissing);
+            shardRowsCreated = true;
+        }
+
+        instanceRepository.heartbeat(instanceId, now);
+        instanceRepository.deleteStale(liveAfter);
+        long liveInstances = Math.max(1, instanceRepository.countByHeartbeatAtAfter(liveAfter));
+        int target = fairShare(shardCount, liveInstances);
+
+        leaseRepository.renew(instanceId, now, leaseUntil);
+        List<Integer> owned = new ArrayList<>(leaseRepository.findOwnedShards(instanceId, now));
+
+        if (owned.size() > target) {
+            List<Integer> surplus = owned.subList(target, owned.size());
+            leaseRepository.release(instanceId, List.copyOf(surplus));
+            log.info("Released outbox shards {} ({} live instances)", surplus, liveInstances);
+            surplus.clear();
+        } else if (owned.size() < target) {
+            int acquired = leaseRepository.acquireFree(instanceId, now, leaseUntil, target - owned.size());
+            if (acquired > 0) {
+                owned = leaseRepository.findOwnedShards(instanceId, now);
+                log.info("Acquired {} outbox shards, now owning {}", acquired, owned);
+            }
+        }
+
+        ownedShards = List.copyOf(owned);
+        leaseValidUntil = leaseUntil;
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        ownedShards = List.of();
+        try {
+            leaseRepository.releaseAll(instanceId);
+            instanceRepository.deleteById(instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release outbox shard leases on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Shards this worker should drain: the owned shards are split round-robin between
+     * the local workers, so every shard has exactly one worker.
+     */
+    public List<Integer> shardsForWorker(int worker, int workerCount) {
+        if (LocalDateTime.now().isAfter(leaseValidUntil)) {
+            // heartbeats stopped (e.g. database unreachable); another instance may own them by now
+            return List.of();
+        }
+        List<Integer> owned = ownedShards;
+        return IntStream.range(0, owned.size())
+                .filter(i -> i % workerCount == worker)
+                .mapToObj(owned::get)
+                .toList();
+    }
+
+    public List<Integer> getOwnedShards() {
+        return ownedShards;
+    }
+
+    static int fairShare(int shardCount, long liveInstances) {
+        return (int) ((shardCount + liveInstances - 1) / liveInstances);
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "order-service";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
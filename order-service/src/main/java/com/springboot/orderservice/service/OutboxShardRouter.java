@@ -0,0 +1,24 @@
+package com.springboot.orderservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps an event key onto a fixed number of outbox shards. The shard count must stay the
+ * same for the lifetime of the outbox table: pending rows keep the shard they were
+ * written with.
+ */
+@Component
+public class OutboxShardRouter {
+
+    @Value("${app.outbox.sharding.shard-count:16}")
+    private int shardCount;
+
+    public int shardFor(String key) {
+        return Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
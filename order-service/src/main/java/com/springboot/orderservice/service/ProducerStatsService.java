@@ -0,0 +1,79 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.ProducerStats;
+import com.springboot.orderservice.producer.ProducerProfileCustomizer;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports the active producer profile with the settings and metrics that show its
+ * effect: how full batches get, how well they compress and what that costs in latency.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProducerStatsService {
+
+    private static final String METRIC_GROUP = "producer-metrics";
+
+    private static final List<String> SETTINGS = List.of(
+            ProducerConfig.LINGER_MS_CONFIG,
+            ProducerConfig.BATCH_SIZE_CONFIG,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG,
+            ProducerConfig.BUFFER_MEMORY_CONFIG,
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG,
+            ProducerConfig.ACKS_CONFIG,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+            ProducerConfig.MAX_BLOCK_MS_CONFIG);
+
+    private static final List<String> METRICS = List.of(
+            "record-send-rate",
+            "records-per-request-avg",
+            "batch-size-avg",
+            "compression-rate-avg",
+            "record-queue-time-avg",
+            "request-latency-avg",
+            "outgoing-byte-rate",
+            "record-retry-rate",
+            "record-error-rate",
+            "buffer-available-bytes");
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ProducerProfileCustomizer profileCustomizer;
+
+    public ProducerStats getStats() {
+        Map<String, Object> configuration = kafkaTemplate.getProducerFactory().getConfigurationProperties();
+        Map<String, Object> settings = new TreeMap<>();
+        for (String setting : SETTINGS) {
+            if (configuration.containsKey(setting)) {
+                settings.put(setting, configuration.get(setting));
+            }
+        }
+
+        Map<String, Double> metrics = new TreeMap<>();
+        for (Map.Entry<MetricName, ? extends Metric> metric : kafkaTemplate.metrics().entrySet()) {
+            MetricName name = metric.getKey();
+            if (!METRIC_GROUP.equals(name.group())) {
+                continue;
+            }
+            // the factory numbers its producers, so the actual id is only known from the metrics
+            settings.putIfAbsent(ProducerConfig.CLIENT_ID_CONFIG, name.tags().get("client-id"));
+            if (METRICS.contains(name.name()) && metric.getValue().metricValue() instanceof Number value) {
+                metrics.put(name.name(), value.doubleValue());
+            }
+        }
+
+        return ProducerStats.builder()
+                .profile(profileCustomizer.getProfile())
+                .settings(settings)
+                .metrics(metrics)
+                .build();
+    }
+}
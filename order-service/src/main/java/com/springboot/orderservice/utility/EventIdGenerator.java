@@ -0,0 +1,53 @@
+package com.springboot.orderservice.utility;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered (UUIDv7 layout) event ids. The leading 48 bits hold the Unix
+ * epoch millis, followed by a 12-bit counter that keeps ids monotonic within the same
+ * millisecond, so new ids are appended at the right edge of {@code event_id} indexes
+ * instead of being scattered across the B-tree like random UUIDs.
+ */
+public class EventIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private static long lastMillis = -1;
+    private static int counter;
+
+    private EventIdGenerator() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String newEventId() {
+        return uuidV7().toString();
+    }
+
+    public static UUID uuidV7() {
+        long millis;
+        int sequence;
+        synchronized (EventIdGenerator.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // random start leaves headroom for ids generated in the same millisecond
+                counter = ThreadLocalRandom.current().nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                // counter exhausted (or clock moved back): borrow the next millisecond
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long mostSigBits = (millis << 16)
+                | (0x7L << COUNTER_BITS)
+                | sequence;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
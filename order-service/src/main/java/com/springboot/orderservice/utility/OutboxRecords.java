@@ -0,0 +1,29 @@
+package com.springboot.orderservice.utility;
+
+import com.springboot.orderservice.model.OutboxEvent;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns an outbox row into the Kafka record key and, for rows with a stored payload,
+ * the record value. Shared by the outbox poller and the post-commit fast path so both
+ * publish identical records.
+ */
+public class OutboxRecords {
+
+    private OutboxRecords() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String key(OutboxEvent event) {
+        // rows written before aggregate_id existed fall back to their event id
+        return event.getAggregateId() != null
+                ? String.valueOf(event.getAggregateId())
+                : event.getEventId();
+    }
+
+    public static byte[] value(OutboxEvent event) {
+        // The payload was serialized once when the order was stored; publish it as-is
+        return event.getPayload().getBytes(StandardCharsets.UTF_8);
+    }
+}
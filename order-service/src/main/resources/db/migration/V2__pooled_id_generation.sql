@@ -0,0 +1,72 @@
+-- ========== POOLED ID GENERATION ==========
+-- Order and OutboxEvent move from AUTO_INCREMENT keys to Hibernate's pooled table
+-- generator so inserts can be batched.
+--
+-- Rolling-deployment safe: instances of the previous release keep inserting without an
+-- id while new instances hand out ids from id_generator, so AUTO_INCREMENT stays on in
+-- this release and the two never share a range:
+--   * AUTO_INCREMENT is moved 1,000,000,000 above the highest id. Old instances continue
+--     up there; explicit ids below the counter do not move it.
+--   * id_generator is seeded just above the highest id below that ceiling, so new
+--     instances fill the gap in between.
+-- Only ALTER TABLE ... AUTO_INCREMENT = n runs on the live tables, an in-place metadata
+-- change without a table rebuild.
+--
+-- Follow-up, in a later release once no instance of the previous release is left:
+--   1. Move id_generator above MAX(id) (the old instances' ids sit above the gap), e.g.
+--      UPDATE id_generator SET next_val = (SELECT MAX(id) FROM orders) + 50
+--      WHERE sequence_name = 'orders', and likewise for outbox_events.
+--   2. Drop AUTO_INCREMENT from orders.id and outbox_events.outbox_id. Changing the column
+--      definition rebuilds the table, so run it with pt-online-schema-change or gh-ost,
+--      e.g. pt-online-schema-change --alter "MODIFY id BIGINT NOT NULL" D=order_db,t=orders
+--      --execute, not as a plain MODIFY.
+
+-- The entity maps to outbox_events (V1 created outbox_event); make sure it exists. The
+-- previous release generated it from an IDENTITY id, so it keeps AUTO_INCREMENT as well.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id VARCHAR(255),
+    event_type VARCHAR(255),
+    payload LONGTEXT,
+    status VARCHAR(20),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    processed_at DATETIME(6),
+    retry_count INT NOT NULL DEFAULT 0,
+    last_attempt_at DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- 1. Move the old instances' AUTO_INCREMENT range out of the way. ALTER TABLE takes no
+-- expressions, hence the prepared statements.
+SET @orders_ceiling = (SELECT COALESCE(MAX(id), 0) FROM orders) + 1000000000;
+SET @sql = CONCAT('ALTER TABLE orders AUTO_INCREMENT = ', @orders_ceiling, ', ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE move_auto_increment FROM @sql;
+EXECUTE move_auto_increment;
+DEALLOCATE PREPARE move_auto_increment;
+
+SET @outbox_ceiling = (SELECT COALESCE(MAX(outbox_id), 0) FROM outbox_events) + 1000000000;
+SET @sql = CONCAT('ALTER TABLE outbox_events AUTO_INCREMENT = ', @outbox_ceiling, ', ALGORITHM=INPLACE, LOCK=NONE');
+PREPARE move_auto_increment FROM @sql;
+EXECUTE move_auto_increment;
+DEALLOCATE PREPARE move_auto_increment;
+
+-- 2. Seed the generators below the ceiling, counting rows old instances inserted while
+-- step 1 ran. The pooled optimizer takes the stored value as the top of its first block
+-- of 50 (IdAllocation.BLOCK_SIZE), so seed one block above the highest id.
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'orders', seed.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_val FROM orders WHERE id < @orders_ceiling) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_generator WHERE sequence_name = 'orders');
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'outbox_events', seed.next_val
+FROM (SELECT COALESCE(MAX(outbox_id), 0) + 50 AS next_val FROM outbox_events WHERE outbox_id < @outbox_ceiling) seed
+WHERE NOT EXISTS (SELECT 1 FROM id_generator WHERE sequence_name = 'outbox_events');
+
+-- Time-ordered event ids are appended to the right edge of this index
+CREATE INDEX idx_outbox_events_event_id ON outbox_events(event_id) ALGORITHM=INPLACE LOCK=NONE;
@@ -0,0 +1,24 @@
+-- ========== OUTBOX SHARDING ==========
+-- Outbox rows carry the id of their order and a shard derived from it. Publisher
+-- instances lease shards and only claim rows of the shards they hold, so events of one
+-- order are always published by a single thread in commit order.
+
+-- Rows written before this release (or by old instances during the rollout) have no
+-- shard of their own and fall into shard 0.
+ALTER TABLE outbox_events
+    ADD COLUMN aggregate_id BIGINT NULL,
+    ADD COLUMN shard INT NOT NULL DEFAULT 0;
+
+-- Claim query: WHERE status = 'PENDING' AND shard IN (...) ORDER BY created_at
+CREATE INDEX idx_outbox_events_claim ON outbox_events(status, shard, created_at);
+
+CREATE TABLE IF NOT EXISTS outbox_shard_leases (
+    shard INT NOT NULL PRIMARY KEY,
+    owner VARCHAR(100),
+    lease_until DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_publisher_instances (
+    instance_id VARCHAR(100) NOT NULL PRIMARY KEY,
+    heartbeat_at DATETIME(6)
+);
@@ -0,0 +1,6 @@
+-- ========== OUTBOX RETENTION ==========
+-- The retention job looks up processed rows by age:
+--   WHERE status = 'PROCESSED' AND created_at < ? ORDER BY created_at LIMIT ?
+-- With (status, created_at) it reads only the rows it is about to delete, however much
+-- history has accumulated.
+CREATE INDEX idx_outbox_events_status_created ON outbox_events(status, created_at);
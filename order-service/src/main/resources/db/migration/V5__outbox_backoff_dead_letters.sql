@@ -0,0 +1,36 @@
+-- ========== OUTBOX RETRY BACKOFF AND DEAD LETTERS ==========
+-- Failed publishes are retried no earlier than next_attempt_at, which grows
+-- exponentially with every attempt. The claim query only looks at due rows:
+--   WHERE status = 'PENDING' AND shard = ? AND next_attempt_at <= ? ORDER BY next_attempt_at
+-- The default covers rows inserted by instances still running the previous release.
+ALTER TABLE outbox_events
+    ADD COLUMN next_attempt_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+DROP INDEX idx_outbox_events_claim ON outbox_events;
+CREATE INDEX idx_outbox_events_claim ON outbox_events(status, shard, next_attempt_at);
+
+-- Events that used up their attempts leave the outbox and wait here for a requeue
+CREATE TABLE IF NOT EXISTS outbox_dead_letters (
+    outbox_id BIGINT NOT NULL PRIMARY KEY,
+    event_id VARCHAR(255),
+    event_type VARCHAR(255),
+    aggregate_id BIGINT,
+    shard INT,
+    payload LONGTEXT,
+    retry_count INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    failed_at DATETIME(6)
+);
+
+CREATE INDEX idx_outbox_dead_letters_failed_at ON outbox_dead_letters(failed_at);
+
+-- Rows already marked FAILED by the previous release become dead letters
+INSERT INTO outbox_dead_letters
+    (outbox_id, event_id, event_type, aggregate_id, shard, payload, retry_count, created_at, failed_at)
+SELECT outbox_id, event_id, event_type, aggregate_id, shard, payload, retry_count, created_at,
+       COALESCE(last_attempt_at, updated_at, created_at)
+FROM outbox_events
+WHERE status = 'FAILED';
+
+DELETE FROM outbox_events WHERE status = 'FAILED';
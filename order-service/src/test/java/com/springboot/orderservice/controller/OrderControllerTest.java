@@ -1,9 +1,12 @@
 package com.springboot.orderservice.controller;
 
+import com.springboot.orderservice.dto.BulkOrderItemResult;
 import com.springboot.orderservice.dto.OrderRequest;
 import com.springboot.orderservice.dto.OrderStatusEnum;
 import com.springboot.orderservice.exception.OrderNotFoundException;
 import com.springboot.orderservice.model.Order;
+import com.springboot.orderservice.service.OrderGroupCommitter;
+import com.springboot.orderservice.service.OrderImportService;
 import com.springboot.orderservice.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,14 +15,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -31,6 +43,12 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderImportService orderImportService;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -51,6 +69,27 @@ class OrderControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void createOrder_withGroupCommitEnabled_shouldUseCommitter() throws Exception {
+
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 2);
+        Order response = new Order(
+                1L, "test@mail.com", "P100", 2,
+                OrderStatusEnum.CREATED, Instant.now()
+        );
+
+        when(orderGroupCommitter.isEnabled()).thenReturn(true);
+        when(orderGroupCommitter.createOrder(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(1));
+
+        verify(orderService, never()).createOrder(any());
+    }
+
     @Test
     void createOrder_invalidQuantity_shouldReturn400() throws Exception {
 
@@ -62,6 +101,68 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createOrders_allCreated_shouldReturn201() throws Exception {
+
+        List<OrderRequest> requests = List.of(
+                new OrderRequest("test@mail.com", "P100", 2),
+                new OrderRequest("test@mail.com", "P101", 1)
+        );
+
+        when(orderService.createOrders(any())).thenReturn(List.of(
+                BulkOrderItemResult.created(0, 1L),
+                BulkOrderItemResult.created(1, 2L)
+        ));
+
+        mockMvc.perform(post("/api/v1/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.createdCount").value(2));
+    }
+
+    @Test
+    void createOrders_withRejectedItems_shouldReturn207() throws Exception {
+
+        List<OrderRequest> requests = List.of(
+                new OrderRequest("test@mail.com", "P100", 2),
+                new OrderRequest("test@mail.com", "P101", 0)
+        );
+
+        when(orderService.createOrders(any())).thenReturn(List.of(
+                BulkOrderItemResult.created(0, 1L),
+                BulkOrderItemResult.rejected(1, List.of("quantity : Quantity should be positive"))
+        ));
+
+        mockMvc.perform(post("/api/v1/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.data.rejectedCount").value(1))
+                .andExpect(jsonPath("$.data.results[1].status").value("REJECTED"));
+    }
+
+    @Test
+    void importOrders_shouldStreamNdjsonResponse() throws Exception {
+
+        when(orderImportService.importOrders(any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class)
+                    .write("{\"completed\":true}\n".getBytes());
+            return null;
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/v1/orders/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"customerEmail\":\"test@mail.com\",\"productCode\":\"P100\",\"quantity\":2}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"completed\":true}\n"));
+    }
+
     @Test
     void getAllOrders_shouldReturn200() throws Exception {
 
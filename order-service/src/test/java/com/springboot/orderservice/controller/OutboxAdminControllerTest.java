@@ -0,0 +1,85 @@
+package com.springboot.orderservice.controller;
+
+import com.springboot.orderservice.exception.InvalidBatchException;
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import com.springboot.orderservice.service.OutboxDeadLetterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OutboxAdminController.class)
+class OutboxAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OutboxDeadLetterService deadLetterService;
+
+    @Test
+    void getDeadLetters_shouldReturnPage() throws Exception {
+        OutboxDeadLetter deadLetter = OutboxDeadLetter.builder()
+                .outboxId(10L)
+                .eventId("event-123")
+                .retryCount(5)
+                .lastError("broker down")
+                .failedAt(LocalDateTime.now())
+                .build();
+        when(deadLetterService.getDeadLetters(0, 10))
+                .thenReturn(new PageImpl<>(List.of(deadLetter), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/v1/outbox/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.content[0].outboxId").value(10))
+                .andExpect(jsonPath("$.data.content[0].lastError").value("broker down"))
+                .andExpect(jsonPath("$.data.content[0].newEntity").doesNotExist());
+    }
+
+    @Test
+    void requeue_shouldReturnRequeuedCount() throws Exception {
+        when(deadLetterService.requeue(List.of(10L, 11L))).thenReturn(2);
+
+        mockMvc.perform(post("/api/v1/outbox/dead-letters/requeue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[10, 11]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(2));
+    }
+
+    @Test
+    void requeue_withoutIds_shouldReturn400() throws Exception {
+        when(deadLetterService.requeue(any()))
+                .thenThrow(new InvalidBatchException("At least one dead letter id is required"));
+
+        mockMvc.perform(post("/api/v1/outbox/dead-letters/requeue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_BATCH"));
+    }
+
+    @Test
+    void requeueAll_shouldReturnRequeuedCount() throws Exception {
+        when(deadLetterService.requeueAll()).thenReturn(1500);
+
+        mockMvc.perform(post("/api/v1/outbox/dead-letters/requeue-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(1500));
+    }
+}
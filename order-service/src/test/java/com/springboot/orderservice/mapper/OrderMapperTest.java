@@ -1,8 +1,8 @@
 package com.springboot.orderservice.mapper;
 
+import com.springboot.eventcontract.event.OrderCreated;
 import com.springboot.orderservice.dto.OrderRequest;
 import com.springboot.orderservice.dto.OrderStatusEnum;
-import com.springboot.orderservice.dto.event.OrderCreated;
 import com.springboot.orderservice.model.Order;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -45,4 +45,22 @@ class OrderMapperTest {
         assertEquals(order.getId(), event.orderId());
         assertEquals(order.getCustomerEmail(), event.customerEmail());
     }
+
+    @Test
+    void shouldRebuildEventWithStoredEventId() {
+
+        Instant createdAt = Instant.parse("2026-02-17T07:14:55Z");
+        Order order = Order.builder()
+                .id(1L)
+                .customerEmail("test@mail.com")
+                .productCode("P100")
+                .quantity(2)
+                .status(OrderStatusEnum.CREATED)
+                .createdAt(createdAt)
+                .build();
+
+        OrderCreated event = mapper.toEvent(order, "event-123");
+
+        assertEquals(new OrderCreated("event-123", createdAt, 1L, "test@mail.com", "P100", 2), event);
+    }
 }
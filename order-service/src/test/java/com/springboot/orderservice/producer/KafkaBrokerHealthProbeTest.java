@@ -0,0 +1,59 @@
+package com.springboot.orderservice.producer;
+
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KafkaBrokerHealthProbeTest {
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void isAvailable_whenBrokerIsUp_shouldReturnTrue() {
+        KafkaBrokerHealthProbe probe = probeFor(broker.getBrokersAsString());
+        try {
+            assertTrue(probe.isAvailable());
+        } finally {
+            probe.destroy();
+        }
+    }
+
+    @Test
+    void isAvailable_whenNothingListens_shouldReturnFalseWithinTimeout() {
+        KafkaBrokerHealthProbe probe = probeFor("localhost:1");
+        try {
+            long start = System.currentTimeMillis();
+            assertFalse(probe.isAvailable());
+            assertTrue(System.currentTimeMillis() - start < 3000);
+        } finally {
+            probe.destroy();
+        }
+    }
+
+    private static KafkaBrokerHealthProbe probeFor(String bootstrapServers) {
+        KafkaBrokerHealthProbe probe = new KafkaBrokerHealthProbe(
+                new KafkaAdmin(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers)));
+        ReflectionTestUtils.setField(probe, "probeTimeoutMs", 1000);
+        return probe;
+    }
+}
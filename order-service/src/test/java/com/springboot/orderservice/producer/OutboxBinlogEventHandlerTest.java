@@ -0,0 +1,236 @@
+package com.springboot.orderservice.producer;
+
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventData;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.RotateEventData;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.TableMapEventMetadata;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.XidEventData;
+import com.springboot.orderservice.model.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxBinlogEventHandlerTest {
+
+    private static final List<String> COLUMNS = List.of("outbox_id", "event_id", "event_type", "aggregate_id",
+            "shard", "payload", "status", "created_at", "updated_at", "processed_at", "retry_count",
+            "last_attempt_at", "next_attempt_at");
+    private static final long OUTBOX_TABLE_ID = 91;
+    private static final long ORDERS_TABLE_ID = 90;
+
+    @TempDir
+    private Path tempDir;
+
+    private final List<List<OutboxEvent>> published = new ArrayList<>();
+    private BinlogCheckpointStore checkpointStore;
+
+    @BeforeEach
+    void setUp() {
+        checkpointStore = new BinlogCheckpointStore(tempDir.resolve("outbox-binlog.checkpoint"));
+    }
+
+    @Test
+    void onEvent_shouldPublishOutboxRowsOfCommittedTransactionAndCheckpoint() {
+        OutboxBinlogEventHandler handler = handler(published::add);
+
+        replay(handler,
+                event(EventType.ROTATE, 0, rotate("binlog.000007", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(ORDERS_TABLE_ID, "order_db", "orders")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(ORDERS_TABLE_ID, new Serializable[]{1L})),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID,
+                        outboxRow(11L, "evt-1", 1L, "{\"orderId\":1}"),
+                        outboxRow(12L, "evt-2", 2L, null))),
+                event(EventType.XID, 1840, new XidEventData()));
+
+        assertEquals(1, published.size());
+        List<OutboxEvent> rows = published.get(0);
+        assertEquals(2, rows.size());
+        assertEquals(11L, rows.get(0).getOutboxId());
+        assertEquals("evt-1", rows.get(0).getEventId());
+        assertEquals("ORDER_CREATED", rows.get(0).getEventType());
+        assertEquals(1L, rows.get(0).getAggregateId());
+        assertEquals(3, rows.get(0).getShard());
+        assertEquals("{\"orderId\":1}", rows.get(0).getPayload());
+        assertNull(rows.get(1).getPayload());
+        assertEquals(Optional.of(new BinlogPosition("binlog.000007", 1840)), checkpointStore.load());
+    }
+
+    @Test
+    void onEvent_shouldIgnoreTransactionsWithoutOutboxRows() {
+        OutboxBinlogEventHandler handler = handler(published::add);
+
+        replay(handler,
+                event(EventType.ROTATE, 0, rotate("binlog.000007", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "other_db", "outbox_events")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, outboxRow(11L, "evt-1", 1L, null))),
+                event(EventType.XID, 900, new XidEventData()));
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void onEvent_shouldRetryFailedPublishBeforeCheckpointing() {
+        AtomicInteger attempts = new AtomicInteger();
+        OutboxBinlogEventHandler handler = handler(rows -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            published.add(rows);
+        });
+
+        replay(handler,
+                event(EventType.ROTATE, 0, rotate("binlog.000008", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, outboxRow(21L, "evt-3", 3L, null))),
+                event(EventType.XID, 512, new XidEventData()));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, published.size());
+        assertEquals(Optional.of(new BinlogPosition("binlog.000008", 512)), checkpointStore.load());
+    }
+
+    @Test
+    void onEvent_shouldNotCheckpointWhenStoppedBeforePublishing() {
+        OutboxBinlogEventHandler[] holder = new OutboxBinlogEventHandler[1];
+        holder[0] = handler(rows -> {
+            holder[0].stop();
+            throw new IllegalStateException("broker unavailable");
+        });
+
+        Event xid = event(EventType.XID, 512, new XidEventData());
+        replay(holder[0],
+                event(EventType.ROTATE, 0, rotate("binlog.000008", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, outboxRow(21L, "evt-3", 3L, null))));
+
+        assertThrows(IllegalStateException.class, () -> holder[0].onEvent(xid));
+        assertTrue(checkpointStore.load().isEmpty());
+    }
+
+    @Test
+    void onEvent_shouldMapColumnsWithTheLayoutTheRowWasWrittenWith() {
+        OutboxBinlogEventHandler handler = handler(published::add);
+        // before the current layout: no aggregate_id/shard yet, payload right after event_type
+        List<String> oldColumns = List.of("outbox_id", "event_id", "event_type", "payload", "status");
+
+        replay(handler,
+                event(EventType.ROTATE, 0, rotate("binlog.000002", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events", oldColumns)),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, new Serializable[]{
+                        5L, bytes("evt-old"), bytes("ORDER_CREATED"), bytes("{\"orderId\":5}"), bytes("PENDING")})),
+                event(EventType.XID, 700, new XidEventData()));
+
+        OutboxEvent row = published.get(0).get(0);
+        assertEquals("evt-old", row.getEventId());
+        assertEquals("{\"orderId\":5}", row.getPayload());
+        assertNull(row.getAggregateId());
+        assertNull(row.getShard());
+    }
+
+    @Test
+    void onEvent_withoutColumnNames_shouldHaltWithoutPublishingOrCheckpointing() {
+        OutboxBinlogEventHandler handler = handler(published::add);
+
+        replay(handler,
+                event(EventType.ROTATE, 0, rotate("binlog.000007", 4)),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events", null)),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, outboxRow(11L, "evt-1", 1L, null))),
+                event(EventType.XID, 1840, new XidEventData()),
+                event(EventType.TABLE_MAP, 0, tableMap(OUTBOX_TABLE_ID, "order_db", "outbox_events")),
+                event(EventType.EXT_WRITE_ROWS, 0, writeRows(OUTBOX_TABLE_ID, outboxRow(12L, "evt-2", 2L, null))),
+                event(EventType.XID, 2100, new XidEventData()));
+
+        assertTrue(handler.isHalted());
+        assertTrue(published.isEmpty());
+        assertTrue(checkpointStore.load().isEmpty());
+    }
+
+    @Test
+    void checkpointStore_shouldRoundTripPosition() {
+        checkpointStore.save(new BinlogPosition("binlog.000001", 157));
+        checkpointStore.save(new BinlogPosition("binlog.000002", 4));
+
+        assertEquals(Optional.of(new BinlogPosition("binlog.000002", 4)), checkpointStore.load());
+    }
+
+    private OutboxBinlogEventHandler handler(OutboxBinlogEventHandler.TransactionPublisher publisher) {
+        return new OutboxBinlogEventHandler("order_db", "outbox_events", publisher, checkpointStore, 1, 0);
+    }
+
+    private static void replay(OutboxBinlogEventHandler handler, Event... events) {
+        for (Event event : events) {
+            handler.onEvent(event);
+        }
+    }
+
+    private static Event event(EventType type, long nextPosition, EventData data) {
+        EventHeaderV4 header = new EventHeaderV4();
+        header.setEventType(type);
+        header.setNextPosition(nextPosition);
+        return new Event(header, data);
+    }
+
+    private static RotateEventData rotate(String filename, long position) {
+        RotateEventData data = new RotateEventData();
+        data.setBinlogFilename(filename);
+        data.setBinlogPosition(position);
+        return data;
+    }
+
+    private static TableMapEventData tableMap(long tableId, String database, String table) {
+        return tableMap(tableId, database, table, COLUMNS);
+    }
+
+    // the column names come with binlog_row_metadata=FULL; null models MINIMAL
+    private static TableMapEventData tableMap(long tableId, String database, String table, List<String> columns) {
+        TableMapEventData data = new TableMapEventData();
+        data.setTableId(tableId);
+        data.setDatabase(database);
+        data.setTable(table);
+        if (columns != null) {
+            TableMapEventMetadata metadata = new TableMapEventMetadata();
+            metadata.setColumnNames(columns);
+            data.setEventMetadata(metadata);
+        }
+        return data;
+    }
+
+    private static WriteRowsEventData writeRows(long tableId, Serializable[]... rows) {
+        BitSet included = new BitSet();
+        included.set(0, rows[0].length);
+        WriteRowsEventData data = new WriteRowsEventData();
+        data.setTableId(tableId);
+        data.setIncludedColumns(included);
+        data.setRows(List.of(rows));
+        return data;
+    }
+
+    // the way the relay's deserializer hands out an outbox row: text columns as bytes
+    private static Serializable[] outboxRow(long outboxId, String eventId, long orderId, String payload) {
+        return new Serializable[]{
+                outboxId, bytes(eventId), bytes("ORDER_CREATED"), orderId, 3,
+                payload != null ? bytes(payload) : null, bytes("PENDING"),
+                1760000000000L, 1760000000000L, null, 0, null, 1760000000000L
+        };
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
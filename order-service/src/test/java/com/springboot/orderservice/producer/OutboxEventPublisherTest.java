@@ -0,0 +1,168 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.service.BrokerCircuitBreaker;
+import com.springboot.orderservice.service.OutboxEventProcessService;
+import com.springboot.orderservice.service.OutboxEventProcessService.BatchResult;
+import com.springboot.orderservice.service.OutboxShardLeaseManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxEventPublisherTest {
+
+    private static final BatchResult EMPTY = new BatchResult(0, false);
+    private static final BatchResult FULL = new BatchResult(50, true);
+    private static final List<Integer> SHARDS = List.of(0, 1);
+
+    @Mock
+    private OutboxEventProcessService outboxEventProcessService;
+
+    @Mock
+    private OutboxShardLeaseManager shardLeaseManager;
+
+    @Mock
+    private BrokerCircuitBreaker circuitBreaker;
+
+    @InjectMocks
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxEventPublisher, "minIdleWaitMs", 50L);
+        ReflectionTestUtils.setField(outboxEventPublisher, "maxIdleWaitMs", 60_000L);
+        ReflectionTestUtils.setField(outboxEventPublisher, "workerCount", 1);
+        when(shardLeaseManager.shardsForWorker(0, 1)).thenReturn(SHARDS);
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventPublisher.stop();
+    }
+
+    @Test
+    void shouldDrainImmediatelyAfterCommit() {
+        when(outboxEventProcessService.processBatch(SHARDS)).thenReturn(EMPTY);
+        outboxEventPublisher.start();
+        // initial drain on start, then idle backoff grows towards one minute
+        verify(outboxEventProcessService, timeout(1000).atLeast(1)).processBatch(SHARDS);
+        sleep(500);
+        clearInvocations(outboxEventProcessService);
+
+        outboxEventPublisher.onOutboxEventsStored(new OutboxEventsStored(1));
+
+        verify(outboxEventProcessService, timeout(200).times(1)).processBatch(SHARDS);
+    }
+
+    @Test
+    void shouldLeaveFastPathPublicationsAlone() {
+        ReflectionTestUtils.setField(outboxEventPublisher, "fastPathEnabled", true);
+        ReflectionTestUtils.setField(outboxEventPublisher, "minIdleWaitMs", 60_000L);
+        when(outboxEventProcessService.processBatch(SHARDS)).thenReturn(EMPTY);
+        outboxEventPublisher.start();
+        verify(outboxEventProcessService, timeout(1000).times(1)).processBatch(SHARDS);
+        clearInvocations(outboxEventProcessService);
+
+        outboxEventPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(new OutboxEvent())));
+
+        verify(outboxEventProcessService, after(300).never()).processBatch(SHARDS);
+    }
+
+    @Test
+    void wakeUpAfter_shouldDrainOnceTheDelayHasPassed() {
+        ReflectionTestUtils.setField(outboxEventPublisher, "minIdleWaitMs", 60_000L);
+        when(outboxEventProcessService.processBatch(SHARDS)).thenReturn(EMPTY);
+        outboxEventPublisher.start();
+        verify(outboxEventProcessService, timeout(1000).times(1)).processBatch(SHARDS);
+        clearInvocations(outboxEventProcessService);
+
+        // commits within one tick share a wakeup
+        outboxEventPublisher.wakeUpAfter(300);
+        outboxEventPublisher.wakeUpAfter(300);
+
+        verify(outboxEventProcessService, after(150).never()).processBatch(SHARDS);
+        verify(outboxEventProcessService, timeout(1000).times(1)).processBatch(SHARDS);
+    }
+
+    @Test
+    void shouldKeepDrainingWhileBatchesAreFull() {
+        ReflectionTestUtils.setField(outboxEventPublisher, "minIdleWaitMs", 60_000L);
+        when(outboxEventProcessService.processBatch(SHARDS)).thenReturn(FULL, FULL, new BatchResult(10, false), EMPTY);
+
+        outboxEventPublisher.start();
+
+        // a partial batch ends the drain without an extra empty poll
+        verify(outboxEventProcessService, after(500).times(3)).processBatch(SHARDS);
+    }
+
+    @Test
+    void shouldSurviveProcessingFailures() {
+        when(outboxEventProcessService.processBatch(SHARDS))
+                .thenThrow(new RuntimeException("DB down"))
+                .thenReturn(EMPTY);
+
+        outboxEventPublisher.start();
+        outboxEventPublisher.wakeUp();
+
+        verify(outboxEventProcessService, timeout(1000).atLeast(2)).processBatch(SHARDS);
+    }
+
+    @Test
+    void shouldNotClaimWithoutLeasedShards() {
+        when(shardLeaseManager.shardsForWorker(0, 1)).thenReturn(List.of());
+
+        outboxEventPublisher.start();
+        outboxEventPublisher.wakeUp();
+
+        verify(shardLeaseManager, timeout(1000).atLeast(2)).shardsForWorker(0, 1);
+        verifyNoInteractions(outboxEventProcessService);
+    }
+
+    @Test
+    void shouldNotClaimWhileBreakerIsOpen() {
+        when(circuitBreaker.allowRequest()).thenReturn(false);
+
+        outboxEventPublisher.start();
+        outboxEventPublisher.wakeUp();
+
+        verify(circuitBreaker, timeout(1000).atLeast(2)).allowRequest();
+        verifyNoInteractions(outboxEventProcessService);
+    }
+
+    @Test
+    void shouldDrainDisjointShardsPerWorker() {
+        ReflectionTestUtils.setField(outboxEventPublisher, "workerCount", 2);
+        when(shardLeaseManager.shardsForWorker(0, 2)).thenReturn(List.of(0, 2));
+        when(shardLeaseManager.shardsForWorker(1, 2)).thenReturn(List.of(1, 3));
+        when(outboxEventProcessService.processBatch(anyCollection())).thenReturn(EMPTY);
+
+        outboxEventPublisher.start();
+
+        verify(outboxEventProcessService, timeout(1000).atLeast(1)).processBatch(List.of(0, 2));
+        verify(outboxEventProcessService, timeout(1000).atLeast(1)).processBatch(List.of(1, 3));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
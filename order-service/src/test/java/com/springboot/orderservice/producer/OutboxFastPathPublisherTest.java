@@ -0,0 +1,178 @@
+package com.springboot.orderservice.producer;
+
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxRepository;
+import com.springboot.orderservice.service.BrokerCircuitBreaker;
+import com.springboot.orderservice.service.OutboxPayloadResolver;
+import com.springboot.orderservice.utility.OutboxRecords;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxFastPathPublisherTest {
+
+    private static final String TOPIC = "order-created-topic";
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private BrokerCircuitBreaker circuitBreaker;
+
+    @Mock
+    private OutboxPayloadResolver payloadResolver;
+
+    @Mock
+    private OutboxEventPublisher poller;
+
+    private OutboxFastPathPublisher fastPathPublisher;
+
+    @BeforeEach
+    void setUp() {
+        fastPathPublisher = new OutboxFastPathPublisher(kafkaTemplate, outboxRepository, circuitBreaker, payloadResolver,
+                poller);
+        ReflectionTestUtils.setField(fastPathPublisher, "topic", TOPIC);
+        ReflectionTestUtils.setField(fastPathPublisher, "enabled", true);
+        ReflectionTestUtils.setField(fastPathPublisher, "queueCapacity", 100);
+        ReflectionTestUtils.setField(fastPathPublisher, "graceMs", 2000L);
+        when(circuitBreaker.getState()).thenReturn(BrokerCircuitBreaker.State.CLOSED);
+        when(payloadResolver.resolve(any())).thenAnswer(invocation -> {
+            Collection<OutboxEvent> events = invocation.getArgument(0);
+            return events.stream().collect(Collectors.toMap(OutboxEvent::getOutboxId, OutboxRecords::value));
+        });
+        fastPathPublisher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fastPathPublisher.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishAfterCommitAndConfirmAcknowledgedRows() {
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(10L, 1L), event(11L, 2L))));
+
+        verify(kafkaTemplate, timeout(1000)).send(eq(TOPIC), eq("1"), any(byte[].class));
+        verify(kafkaTemplate, timeout(1000)).send(eq(TOPIC), eq("2"), any(byte[].class));
+        verify(outboxRepository, timeout(1000).atLeastOnce()).markProcessedIfPending(any(), any());
+        // a safety wakeup for the end of the grace period, nothing handed back
+        verify(poller).wakeUpAfter(2000L);
+        fastPathPublisher.stop();
+        verify(outboxRepository, atMost(2)).markProcessedIfPending(any(), any());
+        verify(outboxRepository, never()).markDueIfPending(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedSendShouldBeLeftToThePoller() {
+        when(kafkaTemplate.send(any(), eq("1"), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        when(kafkaTemplate.send(any(), eq("2"), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(10L, 1L), event(11L, 2L))));
+
+        verify(outboxRepository, timeout(1000).atLeastOnce()).markProcessedIfPending(any(), any());
+        verify(outboxRepository, never()).markProcessedIfPending(argThat(ids -> ids.contains(10L)), any());
+        // the failed row is made due at once and the poller woken for it
+        verify(outboxRepository, timeout(1000)).markDueIfPending(eq(List.of(10L)), any());
+        verify(poller, timeout(1000)).wakeUp();
+    }
+
+    @Test
+    void shouldHandRowsBackWhileBreakerIsOpen() {
+        when(circuitBreaker.getState()).thenReturn(BrokerCircuitBreaker.State.OPEN);
+
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(10L, 1L))));
+
+        verify(outboxRepository, timeout(1000)).markDueIfPending(eq(List.of(10L)), any());
+        verify(poller, timeout(1000)).wakeUp();
+        verify(kafkaTemplate, never()).send(any(), any(), any(byte[].class));
+        verify(poller, never()).wakeUpAfter(anyLong());
+    }
+
+    @Test
+    void shouldHandRowsBackWhenTheQueueIsFull() throws Exception {
+        fastPathPublisher.stop();
+        ReflectionTestUtils.setField(fastPathPublisher, "queueCapacity", 1);
+        fastPathPublisher.start();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS); // keeps the sender busy
+            return Map.of();
+        }).when(payloadResolver).resolve(any());
+
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(10L, 1L)))); // running
+        verify(payloadResolver, timeout(1000)).resolve(any());
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(11L, 2L)))); // queued
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(12L, 3L)))); // rejected
+
+        verify(outboxRepository, timeout(1000)).markDueIfPending(eq(List.of(12L)), any());
+        verify(poller, timeout(1000)).wakeUp();
+        release.countDown();
+    }
+
+    @Test
+    void shouldIgnoreNotificationsWithoutRows() {
+        fastPathPublisher.onOutboxEventsStored(new OutboxEventsStored(3));
+
+        verify(kafkaTemplate, after(200).never()).send(any(), any(), any(byte[].class));
+        verifyNoInteractions(poller);
+    }
+
+    @Test
+    void synchronousSendFailureShouldStopTheRestOfTheGroup() {
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenThrow(new RuntimeException("Topic not present in metadata"));
+
+        fastPathPublisher.onOutboxEventsStored(OutboxEventsStored.of(List.of(event(10L, 1L), event(11L, 2L))));
+
+        verify(kafkaTemplate, after(300).times(1)).send(any(), any(), any(byte[].class));
+        verify(outboxRepository, never()).markProcessedIfPending(any(), any());
+        verify(outboxRepository, timeout(1000)).markDueIfPending(argThat(ids -> ids.contains(10L)), any());
+        verify(outboxRepository, timeout(1000)).markDueIfPending(argThat(ids -> ids.contains(11L)), any());
+    }
+
+    private OutboxEvent event(Long outboxId, Long orderId) {
+        return OutboxEvent.builder()
+                .outboxId(outboxId)
+                .eventId("event-" + outboxId)
+                .aggregateId(orderId)
+                .payload("{}")
+                .status(EventStatusEnum.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.service.BrokerCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BrokerCircuitBreakerTest {
+
+    @Mock
+    private OutboxClaimSizer claimSizer;
+
+    private final AtomicBoolean brokerUp = new AtomicBoolean(false);
+    private final AtomicInteger probes = new AtomicInteger();
+
+    private BrokerCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        BrokerHealthProbe stubProbe = () -> {
+            probes.incrementAndGet();
+            return brokerUp.get();
+        };
+        circuitBreaker = new BrokerCircuitBreaker(stubProbe, claimSizer);
+        ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 2);
+        ReflectionTestUtils.setField(circuitBreaker, "initialOpenMs", 100L);
+        ReflectionTestUtils.setField(circuitBreaker, "maxOpenMs", 1000L);
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveBrokerFailures() {
+        circuitBreaker.recordBrokerFailure();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordBrokerFailure();
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(0, probes.get());
+    }
+
+    @Test
+    void successShouldResetFailureCount() {
+        circuitBreaker.recordBrokerFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordBrokerFailure();
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldProbeAfterOpenPeriodAndCloseWhenBrokerIsBack() throws InterruptedException {
+        tripBreaker();
+        Thread.sleep(120);
+        brokerUp.set(true);
+
+        assertTrue(circuitBreaker.allowRequest());
+
+        assertEquals(1, probes.get());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        verify(claimSizer).reset();
+    }
+
+    @Test
+    void failedProbeShouldReopenWithLongerPause() throws InterruptedException {
+        tripBreaker();
+        Thread.sleep(120);
+
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(State.OPEN, circuitBreaker.getState());
+
+        // the open period doubled to 200 ms, so no probe yet
+        Thread.sleep(100);
+        assertFalse(circuitBreaker.allowRequest());
+        assertEquals(1, probes.get());
+
+        Thread.sleep(150);
+        brokerUp.set(true);
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    void brokerFailuresWhileClosedShouldNotResetClaimSize() {
+        circuitBreaker.recordBrokerFailure();
+        circuitBreaker.recordSuccess();
+
+        verify(claimSizer, never()).reset();
+    }
+
+    private void tripBreaker() {
+        circuitBreaker.recordBrokerFailure();
+        circuitBreaker.recordBrokerFailure();
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+}
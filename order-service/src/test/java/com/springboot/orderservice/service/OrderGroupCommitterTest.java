@@ -0,0 +1,157 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.OrderRequest;
+import com.springboot.orderservice.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderGroupCommitterTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private OrderGroupCommitter orderGroupCommitter;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderGroupCommitter, "enabled", true);
+        ReflectionTestUtils.setField(orderGroupCommitter, "maxWaitMs", 200L);
+        ReflectionTestUtils.setField(orderGroupCommitter, "maxBatchSize", 4);
+        ReflectionTestUtils.setField(orderGroupCommitter, "queueCapacity", 100);
+        ReflectionTestUtils.setField(orderGroupCommitter, "pickupTimeoutMs", 5_000L);
+        orderGroupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderGroupCommitter.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void createOrder_concurrentCallers_shouldShareOneCommit() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(r -> Order.builder().id(ids.incrementAndGet()).productCode(r.getProductCode()).build())
+                    .toList();
+        });
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<CompletableFuture<Order>> results = java.util.stream.IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(ready);
+                    return orderGroupCommitter.createOrder(new OrderRequest("test@mail.com", "P" + i, 1));
+                }, callers))
+                .toList();
+        ready.countDown();
+
+        for (int i = 0; i < results.size(); i++) {
+            Order order = results.get(i).get(5, TimeUnit.SECONDS);
+            assertNotNull(order.getId());
+            assertEquals("P" + i, order.getProductCode());
+        }
+
+        verify(orderService, times(1)).persistOrders(anyList());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_whenGroupCommitFails_shouldRetryIndividually() {
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 1);
+        Order order = Order.builder().id(7L).build();
+
+        when(orderService.persistOrders(anyList())).thenThrow(new RuntimeException("deadlock"));
+        when(orderService.createOrder(request)).thenReturn(order);
+
+        Order result = orderGroupCommitter.createOrder(request);
+
+        assertEquals(7L, result.getId());
+    }
+
+    @Test
+    void createOrder_whenIndividualRetryFails_shouldPropagateToCaller() {
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 1);
+
+        when(orderService.persistOrders(anyList())).thenThrow(new RuntimeException("deadlock"));
+        when(orderService.createOrder(request)).thenThrow(new IllegalStateException("constraint violated"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> orderGroupCommitter.createOrder(request));
+        assertEquals("constraint violated", ex.getMessage());
+    }
+
+    @Test
+    void createOrder_whenFlusherDiesWithAnError_shouldFailTheWaiter_andGoDirectAfterwards() {
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 1);
+        Order order = Order.builder().id(9L).build();
+        when(orderService.persistOrders(anyList())).thenThrow(new OutOfMemoryError("simulated"));
+        when(orderService.createOrder(request)).thenReturn(order);
+
+        IllegalStateException ex = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> orderGroupCommitter.createOrder(request)));
+        assertEquals("Group commit failed", ex.getMessage());
+
+        // the flusher is gone; new orders are committed on the caller's thread
+        assertEquals(9L, assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> orderGroupCommitter.createOrder(request)).getId());
+    }
+
+    @Test
+    void createOrder_whenPickedUpButSlow_shouldWaitForTheRealOutcome() {
+        ReflectionTestUtils.setField(orderGroupCommitter, "pickupTimeoutMs", 50L);
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 1);
+        Order order = Order.builder().id(5L).build();
+        when(orderService.persistOrders(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300); // the commit outlasts the pickup timeout
+            return List.of(order);
+        });
+
+        assertEquals(5L, orderGroupCommitter.createOrder(request).getId());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrder_afterStop_shouldCommitDirectly() {
+        OrderRequest request = new OrderRequest("test@mail.com", "P100", 1);
+        when(orderService.createOrder(request)).thenReturn(Order.builder().id(3L).build());
+
+        orderGroupCommitter.stop();
+
+        assertEquals(3L, orderGroupCommitter.createOrder(request).getId());
+        verify(orderService, never()).persistOrders(anyList());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.springboot.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.springboot.orderservice.dto.BulkOrderItemResult;
+import com.springboot.orderservice.dto.OrderImportProgress;
+import com.springboot.orderservice.dto.OrderRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderImportServiceTest {
+
+    private static final String VALID_LINE =
+            "{\"customerEmail\":\"test@mail.com\",\"productCode\":\"P100\",\"quantity\":2}";
+
+    @Mock
+    private OrderService orderService;
+
+    @Captor
+    private ArgumentCaptor<List<OrderRequest>> chunkCaptor;
+
+    private OrderImportService orderImportService;
+
+    @BeforeEach
+    void setUp() {
+        orderImportService = new OrderImportService(orderService,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(orderImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(orderImportService, "maxBatchSize", 1000);
+        ReflectionTestUtils.setField(orderImportService, "maxLineLength", 200);
+    }
+
+    @Test
+    void importOrders_shouldCommitInChunks() throws Exception {
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderRequest> chunk = invocation.getArgument(0);
+            return java.util.stream.IntStream.range(0, chunk.size())
+                    .mapToObj(i -> BulkOrderItemResult.created(i, (long) i + 1))
+                    .toList();
+        });
+
+        String input = String.join("\n", VALID_LINE, VALID_LINE, "", VALID_LINE) + "\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        OrderImportProgress summary = orderImportService.importOrders(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertTrue(summary.isCompleted());
+        assertEquals(4, summary.getLinesRead());
+        assertEquals(3, summary.getCreatedCount());
+        assertEquals(0, summary.getRejectedCount());
+        assertEquals(2, summary.getChunksCommitted());
+
+        verify(orderService, times(2)).createOrders(chunkCaptor.capture());
+        assertThat(chunkCaptor.getAllValues().get(0)).hasSize(2);
+        assertThat(chunkCaptor.getAllValues().get(1)).hasSize(1);
+
+        // one progress line for the full chunk plus the final summary
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).hasSize(2);
+    }
+
+    @Test
+    void importOrders_shouldReportRejectedLinesWithLineNumbers() throws Exception {
+        when(orderService.createOrders(anyList())).thenReturn(List.of(
+                BulkOrderItemResult.rejected(0, List.of("quantity : Quantity should be positive"))));
+
+        String input = "not-json\n"
+                + "{\"customerEmail\":\"test@mail.com\",\"productCode\":\"P100\",\"quantity\":0}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        OrderImportProgress summary = orderImportService.importOrders(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(0, summary.getCreatedCount());
+        assertEquals(2, summary.getRejectedCount());
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"index\":1", "Malformed JSON");
+        assertThat(lines[1]).contains("\"index\":2", "Quantity should be positive");
+        assertThat(lines[2]).contains("\"completed\":true");
+    }
+
+    @Test
+    void importOrders_shouldRejectOverlongLines_andCarryOn() throws Exception {
+        when(orderService.createOrders(anyList())).thenReturn(List.of(BulkOrderItemResult.created(0, 1L)));
+
+        String overlong = "{\"customerEmail\":\"" + "x".repeat(500) + "@mail.com\"}";
+        String input = overlong + "\r\n" + VALID_LINE + "\r\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        OrderImportProgress summary = orderImportService.importOrders(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(2, summary.getLinesRead());
+        assertEquals(1, summary.getCreatedCount());
+        assertEquals(1, summary.getRejectedCount());
+        verify(orderService).createOrders(chunkCaptor.capture());
+        assertThat(chunkCaptor.getValue()).hasSize(1);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")[0])
+                .contains("\"index\":1", "Line exceeds 200 characters");
+    }
+
+    @Test
+    void importOrders_whenChunkFails_shouldReportAbort() throws Exception {
+        when(orderService.createOrders(anyList())).thenThrow(new RuntimeException("DB down"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        OrderImportProgress summary = orderImportService.importOrders(
+                new ByteArrayInputStream((VALID_LINE + "\n").getBytes(StandardCharsets.UTF_8)), output);
+
+        assertFalse(summary.isCompleted());
+        assertEquals("DB down", summary.getError());
+    }
+}
@@ -1,30 +1,43 @@
 package com.springboot.orderservice.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.orderservice.dto.BulkItemStatusEnum;
+import com.springboot.orderservice.dto.BulkOrderItemResult;
 import com.springboot.orderservice.dto.EventStatusEnum;
 import com.springboot.orderservice.dto.OrderRequest;
 import com.springboot.orderservice.dto.OrderStatusEnum;
-import com.springboot.orderservice.dto.event.OrderCreated;
+import com.springboot.orderservice.dto.OutboxPayloadModeEnum;
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.exception.InvalidBatchException;
 import com.springboot.orderservice.exception.OrderNotFoundException;
 import com.springboot.orderservice.mapper.OrderMapper;
 import com.springboot.orderservice.model.Order;
 import com.springboot.orderservice.model.OutboxEvent;
 import com.springboot.orderservice.repository.OrderRepository;
 import com.springboot.orderservice.repository.OutboxRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,7 +57,16 @@ class OrderServiceTest {
     private OrderMapper orderMapper;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private Validator validator;
+
+    @Mock
+    private ConstraintViolation<OrderRequest> violation;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxShardRouter shardRouter;
 
     @InjectMocks
     private OrderService orderService;
@@ -56,6 +78,11 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(orderService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(orderService, "payloadMode", OutboxPayloadModeEnum.FULL);
+        ReflectionTestUtils.setField(orderService, "fastPathEnabled", true);
+        ReflectionTestUtils.setField(orderService, "fastPathGraceMs", 2000L);
+
         requestDto = new OrderRequest("test@mail.com", "P100", 2);
 
         order = Order.builder()
@@ -85,21 +112,111 @@ class OrderServiceTest {
     }
 
     @Test
-    void createOrder_shouldPersist() throws JsonProcessingException {
+    void createOrder_shouldPersist() {
         when(orderMapper.toEntity(requestDto)).thenReturn(order);
         when(orderRepository.save(any())).thenReturn(order);
 
         when(orderMapper.toEvent(order)).thenReturn(orderCreatedEvent);
         when(outboxRepository.save(any())).thenReturn(outboxEvent);
-        when(objectMapper.writeValueAsString(orderCreatedEvent)).thenReturn("{}");
+        when(shardRouter.shardFor("1")).thenReturn(7);
 
         Order result = orderService.createOrder(requestDto);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
 
+        ArgumentCaptor<OutboxEvent> stored = ArgumentCaptor.forClass(OutboxEvent.class);
         verify(orderRepository).save(any());
-        verify(outboxRepository).save(any());
+        verify(outboxRepository).save(stored.capture());
+        assertEquals(1L, stored.getValue().getAggregateId());
+        assertEquals(7, stored.getValue().getShard());
+        // handed to the post-commit fast path; the poller waits out the grace period
+        verify(eventPublisher).publishEvent(OutboxEventsStored.of(List.of(stored.getValue())));
+        assertTrue(stored.getValue().getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    @SuppressWarnings("removal") // JsonSerializer is the reference for the bytes consumers already read
+    void createOrder_shouldStoreThePayloadJsonSerializerUsedToSend() {
+        OrderCreated event = new OrderCreated(
+                "event-123", Instant.parse("2026-02-17T07:14:55.878088Z"), 1L, "test@mail.com", "P100", 2);
+        when(orderMapper.toEntity(requestDto)).thenReturn(order);
+        when(orderRepository.save(any())).thenReturn(order);
+        when(orderMapper.toEvent(order)).thenReturn(event);
+
+        orderService.createOrder(requestDto);
+
+        ArgumentCaptor<OutboxEvent> stored = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(stored.capture());
+        // the stored payload is published as-is, so it must be the bytes the old value serializer wrote
+        assertEquals("{\"eventId\":\"event-123\",\"occurredAt\":1771312495.878088000,\"orderId\":1,"
+                        + "\"customerEmail\":\"test@mail.com\",\"productCode\":\"P100\",\"quantity\":2}",
+                stored.getValue().getPayload());
+        try (JsonSerializer<OrderCreated> jsonSerializer = new JsonSerializer<>()) {
+            assertArrayEquals(jsonSerializer.serialize("order-created-topic", event),
+                    stored.getValue().getPayload().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void createOrder_inReferenceMode_shouldStoreOnlyTheOrderId() {
+        ReflectionTestUtils.setField(orderService, "payloadMode", OutboxPayloadModeEnum.REFERENCE);
+        when(orderMapper.toEntity(requestDto)).thenReturn(order);
+        when(orderRepository.save(any())).thenReturn(order);
+
+        orderService.createOrder(requestDto);
+
+        ArgumentCaptor<OutboxEvent> stored = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(stored.capture());
+        assertNull(stored.getValue().getPayload());
+        assertEquals(1L, stored.getValue().getAggregateId());
+        assertNotNull(stored.getValue().getEventId());
+    }
+
+    @Test
+    void createOrders_shouldPersistValidItemsAndRejectInvalidOnes() {
+        OrderRequest invalidRequest = new OrderRequest("test@mail.com", "P100", 0);
+
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn("quantity");
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn("Quantity should be positive");
+
+        when(validator.validate(requestDto)).thenReturn(Set.of());
+        when(validator.validate(invalidRequest)).thenReturn(Set.of(violation));
+        when(orderMapper.toEntity(requestDto)).thenReturn(order);
+        when(orderRepository.saveAll(any())).thenReturn(List.of(order));
+        when(orderMapper.toEvent(order)).thenReturn(orderCreatedEvent);
+
+        List<BulkOrderItemResult> results = orderService.createOrders(List.of(invalidRequest, requestDto));
+
+        assertThat(results).hasSize(2);
+        assertEquals(BulkItemStatusEnum.REJECTED, results.get(0).getStatus());
+        assertThat(results.get(0).getErrors()).containsExactly("quantity : Quantity should be positive");
+        assertEquals(BulkItemStatusEnum.CREATED, results.get(1).getStatus());
+        assertEquals(1L, results.get(1).getOrderId());
+
+        verify(orderRepository).saveAll(List.of(order));
+        verify(outboxRepository).saveAll(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrders_whenAllInvalid_shouldNotTouchRepositories() {
+        when(validator.validate(requestDto)).thenReturn(Set.of(violation));
+
+        List<BulkOrderItemResult> results = orderService.createOrders(List.of(requestDto));
+
+        assertEquals(BulkItemStatusEnum.REJECTED, results.get(0).getStatus());
+        verifyNoInteractions(orderRepository, outboxRepository);
+    }
+
+    @Test
+    void createOrders_whenBatchTooLarge_shouldThrowException() {
+        List<OrderRequest> requests = java.util.Collections.nCopies(11, requestDto);
+
+        assertThrows(InvalidBatchException.class,
+                () -> orderService.createOrders(requests));
     }
 
     @Test
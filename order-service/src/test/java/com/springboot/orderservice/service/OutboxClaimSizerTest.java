@@ -0,0 +1,56 @@
+package com.springboot.orderservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OutboxClaimSizerTest {
+
+    private OutboxClaimSizer claimSizer;
+
+    @BeforeEach
+    void setUp() {
+        claimSizer = new OutboxClaimSizer();
+        ReflectionTestUtils.setField(claimSizer, "initialSize", 50);
+        ReflectionTestUtils.setField(claimSizer, "minSize", 10);
+        ReflectionTestUtils.setField(claimSizer, "maxSize", 400);
+        ReflectionTestUtils.setField(claimSizer, "targetLatencyMs", 500L);
+        claimSizer.init();
+    }
+
+    @Test
+    void shouldGrowWhileBatchesAreFullAndFast() {
+        claimSizer.record(50, 50, 20);
+        claimSizer.record(100, 100, 20);
+        claimSizer.record(200, 200, 20);
+        claimSizer.record(400, 400, 20);
+
+        assertEquals(400, claimSizer.currentSize());
+    }
+
+    @Test
+    void shouldShrinkWhenPublishingIsSlow() {
+        claimSizer.record(50, 50, 2_000);
+        claimSizer.record(25, 25, 2_000);
+        claimSizer.record(12, 12, 2_000);
+
+        assertEquals(10, claimSizer.currentSize());
+    }
+
+    @Test
+    void shouldKeepSizeForPartialFastBatch() {
+        claimSizer.record(50, 3, 20);
+
+        assertEquals(50, claimSizer.currentSize());
+    }
+
+    @Test
+    void resetShouldRestoreInitialSize() {
+        claimSizer.record(50, 50, 20);
+        claimSizer.reset();
+
+        assertEquals(50, claimSizer.currentSize());
+    }
+}
@@ -0,0 +1,85 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.event.OutboxEventsStored;
+import com.springboot.orderservice.exception.InvalidBatchException;
+import com.springboot.orderservice.repository.OutboxDeadLetterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDeadLetterServiceTest {
+
+    @Mock
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxDeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        deadLetterService = new OutboxDeadLetterService(deadLetterRepository, eventPublisher, transactionManager);
+        ReflectionTestUtils.setField(deadLetterService, "requeueBatchSize", 2);
+    }
+
+    @Test
+    void requeue_shouldCopyBackDeleteAndWakePublisher() {
+        when(deadLetterRepository.copyToOutbox(eq(List.of(10L, 11L)), any())).thenReturn(2);
+
+        int requeued = deadLetterService.requeue(List.of(10L, 11L));
+
+        assertEquals(2, requeued);
+        InOrder inOrder = inOrder(deadLetterRepository);
+        // originals left behind by the binlog relay go first, or the copy hits their primary key
+        inOrder.verify(deadLetterRepository).deleteOriginals(List.of(10L, 11L));
+        inOrder.verify(deadLetterRepository).copyToOutbox(eq(List.of(10L, 11L)), any());
+        inOrder.verify(deadLetterRepository).deleteByIds(List.of(10L, 11L));
+        verify(eventPublisher).publishEvent(new OutboxEventsStored(2));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void requeue_withoutIds_shouldThrow() {
+        assertThrows(InvalidBatchException.class, () -> deadLetterService.requeue(List.of()));
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void requeue_overBatchSize_shouldThrow() {
+        assertThrows(InvalidBatchException.class, () -> deadLetterService.requeue(List.of(1L, 2L, 3L)));
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    void requeueAll_shouldWorkThroughAllBatches() {
+        when(deadLetterRepository.findIds(2)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L));
+        when(deadLetterRepository.copyToOutbox(eq(List.of(1L, 2L)), any())).thenReturn(2);
+        when(deadLetterRepository.copyToOutbox(eq(List.of(3L)), any())).thenReturn(1);
+
+        int requeued = deadLetterService.requeueAll();
+
+        assertEquals(3, requeued);
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
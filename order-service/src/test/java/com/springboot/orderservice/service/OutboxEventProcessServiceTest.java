@@ -0,0 +1,458 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.eventcontract.kafka.OrderCreatedBatchDeserializer;
+import com.springboot.eventcontract.kafka.OrderCreatedDeserializer;
+import com.springboot.orderservice.config.AppConfig;
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.model.OutboxDeadLetter;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxDeadLetterRepository;
+import com.springboot.orderservice.repository.OutboxRepository;
+import com.springboot.orderservice.service.OutboxEventProcessService.BatchResult;
+import com.springboot.orderservice.utility.OutboxRecords;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxEventProcessServiceTest {
+
+    private static final String TOPIC = "order-created-topic";
+    private static final List<Integer> SHARDS = List.of(0, 1);
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private OutboxClaimSizer claimSizer;
+
+    @Mock
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private BrokerCircuitBreaker circuitBreaker;
+
+    @Mock
+    private OutboxPayloadResolver payloadResolver;
+
+    @Mock
+    private SendResult<String, byte[]> sendResult;
+
+    @InjectMocks
+    private OutboxEventProcessService outboxEventProcessService;
+
+    private OrderCreated orderCreated;
+    private OutboxEvent outboxEvent;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(outboxEventProcessService, "topic", TOPIC);
+        ReflectionTestUtils.setField(outboxEventProcessService, "maxRetryAttempts", 3);
+        ReflectionTestUtils.setField(outboxEventProcessService, "pipelinedSends", true);
+        ReflectionTestUtils.setField(outboxEventProcessService, "sendTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(outboxEventProcessService, "retryBaseDelayMs", 1000L);
+        ReflectionTestUtils.setField(outboxEventProcessService, "retryMaxDelayMs", 300000L);
+        when(claimSizer.currentSize()).thenReturn(50);
+        when(payloadResolver.resolve(any())).thenAnswer(invocation -> storedPayloads(invocation.getArgument(0)));
+
+        orderCreated = new OrderCreated(
+                "event-123",
+                Instant.parse("2026-02-17T07:14:55.878088Z"),
+                1L,
+                "test@mail.com",
+                "P100",
+                2
+        );
+
+        outboxEvent = OutboxEvent.builder()
+                .outboxId(10L)
+                .eventId("event-123")
+                .eventType("ORDER")
+                .payload(new AppConfig().objectMapper().writeValueAsString(orderCreated))
+                .status(EventStatusEnum.PENDING)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventProcessService.stop();
+    }
+
+    @Test
+    void processBatch_shouldPublishStoredPayloadBytes() {
+        claims(List.of(outboxEvent));
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-123"), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq("event-123"), payload.capture());
+
+        // Same bytes the consumer's deserializer decodes
+        assertEquals(orderCreated, new OrderCreatedDeserializer().deserialize(TOPIC, payload.getValue()));
+        verify(outboxRepository).markProcessed(eq(List.of(10L)), any(), eq(EventStatusEnum.PROCESSED));
+        verify(outboxRepository, never()).markForRetry(any(), any(), anyLong(), anyLong());
+        assertEquals(new BatchResult(1, false), result);
+    }
+
+    @Test
+    void processBatch_whenSendFails_shouldMarkForRetryInBulk() {
+        claims(List.of(outboxEvent));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(outboxRepository).markForRetry(eq(List.of(10L)), any(), eq(1000L), eq(300000L));
+        verify(outboxRepository, never()).markProcessed(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processBatch_whenAttemptsExhausted_shouldMoveToDeadLetters() {
+        OutboxEvent healthy = pendingEvent(11L, "event-456");
+        outboxEvent.setRetryCount(2);
+
+        claims(List.of(outboxEvent, healthy));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("record too large")));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        ArgumentCaptor<List<OutboxDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterRepository).saveAll(deadLetters.capture());
+        OutboxDeadLetter deadLetter = deadLetters.getValue().get(0);
+        assertEquals(10L, deadLetter.getOutboxId());
+        assertEquals(3, deadLetter.getRetryCount());
+        assertEquals("record too large", deadLetter.getLastError());
+        assertTrue(deadLetter.isNew());
+
+        verify(outboxRepository).deleteByIds(List.of(10L));
+        verify(outboxRepository).markForRetry(eq(List.of(11L)), any(), eq(1000L), eq(300000L));
+    }
+
+    @Test
+    void processBatch_shouldNotModifyClaimedEntities() {
+        claims(List.of(outboxEvent));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        // untouched entities mean no per-row dirty-checking UPDATEs at flush time
+        assertEquals(EventStatusEnum.PENDING, outboxEvent.getStatus());
+        assertNull(outboxEvent.getProcessedAt());
+    }
+
+    @Test
+    void processBatch_shouldReportFullBatchAndFeedClaimSizer() {
+        when(claimSizer.currentSize()).thenReturn(1);
+        claims(List.of(outboxEvent));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        assertTrue(result.full());
+        verify(claimSizer).record(eq(1), eq(1), anyLong());
+    }
+
+    @Test
+    void processBatch_shouldClaimEachShardSeparatelyWithAnEqualShare() {
+        OutboxEvent second = pendingEvent(11L, "event-456");
+        when(outboxRepository.findBatchForUpdate(eq(0), any(), eq(25))).thenReturn(List.of(outboxEvent));
+        when(outboxRepository.findBatchForUpdate(eq(1), any(), eq(25))).thenReturn(List.of(second));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        verify(outboxRepository).findBatchForUpdate(eq(0), any(), eq(25));
+        verify(outboxRepository).findBatchForUpdate(eq(1), any(), eq(25));
+        verify(outboxRepository).markProcessed(eq(List.of(10L, 11L)), any(), eq(EventStatusEnum.PROCESSED));
+        assertEquals(new BatchResult(2, false), result);
+    }
+
+    @Test
+    void processBatch_whenOneShardFillsItsShare_shouldReportAFullBatch() {
+        when(claimSizer.currentSize()).thenReturn(2);
+        when(outboxRepository.findBatchForUpdate(eq(0), any(), eq(1))).thenReturn(List.of(outboxEvent));
+        when(outboxRepository.findBatchForUpdate(eq(1), any(), eq(1))).thenReturn(List.of());
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        // shard 0 probably has more waiting, even though the batch as a whole is not full
+        assertEquals(new BatchResult(1, true), result);
+    }
+
+    @Test
+    void processBatch_whenNothingPending_shouldReturnEmpty() {
+        claims(List.of());
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        assertEquals(0, result.claimed());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void processBatch_shouldSendWholeBatchBeforeWaitingForAcks() {
+        OutboxEvent second = pendingEvent(11L, "event-456");
+        CompletableFuture<SendResult<String, byte[]>> firstAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, byte[]>> secondAck = new CompletableFuture<>();
+
+        claims(List.of(outboxEvent, second));
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-123"), any(byte[].class))).thenAnswer(invocation -> {
+            // acknowledge only after the second event has been handed to the producer
+            CompletableFuture.runAsync(() -> firstAck.complete(sendResult),
+                    CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+            return firstAck;
+        });
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-456"), any(byte[].class))).thenAnswer(invocation -> {
+            assertFalse(firstAck.isDone());
+            secondAck.complete(sendResult);
+            return secondAck;
+        });
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(outboxRepository).markProcessed(eq(List.of(10L, 11L)), any(), eq(EventStatusEnum.PROCESSED));
+    }
+
+    @Test
+    void processBatch_whenEarlierEventForKeyFails_shouldNotSendLaterOne() {
+        OutboxEvent sameKey = pendingEvent(11L, "event-123");
+
+        claims(List.of(outboxEvent, sameKey));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(kafkaTemplate, times(1)).send(any(), any(), any(byte[].class));
+        verify(outboxRepository).markForRetry(eq(List.of(10L)), any(), eq(1000L), eq(300000L));
+
+        // the unsent event is not charged an attempt, and comes back no earlier than the failed one can
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(List.of(11L)), nextAttemptAt.capture(), now.capture());
+        assertEquals(now.getValue().plusSeconds(1), nextAttemptAt.getValue());
+    }
+
+    @Test
+    void processBatch_shouldSendChainedEventOffTheThreadThatCompletedTheEarlierOne() {
+        OutboxEvent sameKey = pendingEvent(11L, "event-123");
+        AtomicReference<String> chainedSendThread = new AtomicReference<>();
+
+        claims(List.of(outboxEvent, sameKey));
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-123"), any(byte[].class)))
+                .thenAnswer(invocation -> {
+                    CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+                    // acknowledged from another thread, like the producer's network thread
+                    CompletableFuture.runAsync(() -> ack.complete(sendResult),
+                            CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+                    return ack;
+                })
+                .thenAnswer(invocation -> {
+                    chainedSendThread.set(Thread.currentThread().getName());
+                    return CompletableFuture.completedFuture(sendResult);
+                });
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        assertEquals("outbox-chained-send", chainedSendThread.get());
+        verify(outboxRepository).markProcessed(eq(List.of(10L, 11L)), any(), eq(EventStatusEnum.PROCESSED));
+    }
+
+    @Test
+    void processBatch_whenAckMissesDeadline_shouldScheduleRetry() {
+        ReflectionTestUtils.setField(outboxEventProcessService, "sendTimeoutMs", 50L);
+        OutboxEvent second = pendingEvent(11L, "event-456");
+
+        claims(List.of(outboxEvent, second));
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-123"), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+        when(kafkaTemplate.send(eq(TOPIC), eq("event-456"), any(byte[].class))).thenReturn(new CompletableFuture<>());
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(outboxRepository).markProcessed(eq(List.of(10L)), any(), eq(EventStatusEnum.PROCESSED));
+        verify(outboxRepository).markForRetry(eq(List.of(11L)), any(), eq(1000L), eq(300000L));
+        verify(circuitBreaker).recordSuccess();
+    }
+
+    @Test
+    void processBatch_whenBrokerUnreachable_shouldStopSendingAndKeepRetries() {
+        OutboxEvent second = pendingEvent(11L, "event-456");
+
+        claims(List.of(outboxEvent, second));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenThrow(new KafkaException("Send failed",
+                        new org.apache.kafka.common.errors.TimeoutException("Topic not present in metadata after 5000 ms.")));
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        // the second event is not handed to a producer that cannot reach the cluster
+        verify(kafkaTemplate, times(1)).send(any(), any(), any(byte[].class));
+        verify(circuitBreaker).recordBrokerFailure();
+        verify(outboxRepository, never()).markForRetry(any(), any(), anyLong(), anyLong());
+        verify(outboxRepository, never()).markProcessed(any(), any(), any());
+        verifyNoInteractions(deadLetterRepository);
+        assertEquals(new BatchResult(2, false), result);
+    }
+
+    @Test
+    void processBatch_whenNoAckArrivesAtAll_shouldChargeTheAttempt() {
+        ReflectionTestUtils.setField(outboxEventProcessService, "sendTimeoutMs", 50L);
+        OutboxEvent second = pendingEvent(11L, "event-456");
+
+        claims(List.of(outboxEvent, second));
+        // every send stays in flight: the records may still land, so this is no free retry
+        when(kafkaTemplate.send(any(), any(), any(byte[].class))).thenAnswer(invocation -> new CompletableFuture<>());
+
+        BatchResult result = outboxEventProcessService.processBatch(SHARDS);
+
+        verify(outboxRepository).markForRetry(eq(List.of(10L, 11L)), any(), eq(1000L), eq(300000L));
+        verify(outboxRepository, never()).markProcessed(any(), any(), any());
+        verify(circuitBreaker).recordBrokerFailure();
+        assertEquals(new BatchResult(2, false), result);
+    }
+
+    @Test
+    void processBatch_shouldKeyRecordsByAggregateId() {
+        OutboxEvent keyed = pendingEvent(11L, "event-456");
+        keyed.setAggregateId(42L);
+
+        claims(List.of(keyed));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(kafkaTemplate).send(eq(TOPIC), eq("42"), any(byte[].class));
+    }
+
+    @Test
+    void processBatch_whenOrderOfReferenceRowIsMissing_shouldRetryThatRowOnly() {
+        OutboxEvent reference = pendingEvent(11L, "event-456");
+        reference.setPayload(null);
+        reference.setAggregateId(42L);
+
+        claims(List.of(outboxEvent, reference));
+        doReturn(Map.of(10L, "{}".getBytes(StandardCharsets.UTF_8))).when(payloadResolver).resolve(any());
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        verify(kafkaTemplate, times(1)).send(any(), any(), any(byte[].class));
+        verify(outboxRepository).markProcessed(eq(List.of(10L)), any(), eq(EventStatusEnum.PROCESSED));
+        verify(outboxRepository).markForRetry(eq(List.of(11L)), any(), eq(1000L), eq(300000L));
+    }
+
+    @Test
+    void processBatch_withEnvelopes_shouldPackEventsSharingAKeyIntoOneRecord() throws Exception {
+        ReflectionTestUtils.setField(outboxEventProcessService, "envelopeEnabled", true);
+        ReflectionTestUtils.setField(outboxEventProcessService, "envelopeMaxEvents", 100);
+        OrderCreated secondCreated = new OrderCreated("event-456", orderCreated.occurredAt(), 1L, "test@mail.com", "P200", 1);
+        OutboxEvent first = keyedEvent(10L, 1L, orderCreated);
+        OutboxEvent otherKey = keyedEvent(12L, 2L, new OrderCreated("event-789", orderCreated.occurredAt(), 2L, "b@mail.com", "P300", 4));
+        OutboxEvent second = keyedEvent(11L, 1L, secondCreated);
+
+        claims(List.of(first, otherKey, second));
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        ArgumentCaptor<byte[]> envelope = ArgumentCaptor.forClass(byte[].class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq("1"), envelope.capture());
+        verify(kafkaTemplate).send(eq(TOPIC), eq("2"), any(byte[].class));
+        assertEquals(List.of(orderCreated, secondCreated),
+                new OrderCreatedBatchDeserializer().deserialize(TOPIC, envelope.getValue()));
+        verify(outboxRepository).markProcessed(eq(List.of(10L, 12L, 11L)), any(), eq(EventStatusEnum.PROCESSED));
+    }
+
+    @Test
+    void processBatch_withEnvelopes_whenEnvelopeFails_shouldRetryItsEvents_andRescheduleTheUnsentOnes() throws Exception {
+        ReflectionTestUtils.setField(outboxEventProcessService, "envelopeEnabled", true);
+        ReflectionTestUtils.setField(outboxEventProcessService, "envelopeMaxEvents", 2);
+        List<OutboxEvent> events = List.of(keyedEvent(10L, 1L, orderCreated), keyedEvent(11L, 1L, orderCreated),
+                keyedEvent(12L, 1L, orderCreated));
+
+        claims(events);
+        when(kafkaTemplate.send(any(), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("record too large")));
+
+        outboxEventProcessService.processBatch(SHARDS);
+
+        // the second envelope of the key is chained behind the failed first one and is not charged
+        verify(kafkaTemplate, times(1)).send(any(), any(), any(byte[].class));
+        verify(outboxRepository).markForRetry(eq(List.of(10L, 11L)), any(), eq(1000L), eq(300000L));
+        verify(outboxRepository).reschedule(eq(List.of(12L)), any(), any());
+    }
+
+    // everything due sits in the first shard, the second has nothing
+    private void claims(List<OutboxEvent> events) {
+        when(outboxRepository.findBatchForUpdate(eq(0), any(), anyInt())).thenReturn(events);
+        when(outboxRepository.findBatchForUpdate(eq(1), any(), anyInt())).thenReturn(List.of());
+    }
+
+    private static Map<Long, byte[]> storedPayloads(Collection<OutboxEvent> events) {
+        return events.stream().collect(Collectors.toMap(OutboxEvent::getOutboxId, OutboxRecords::value));
+    }
+
+    private OutboxEvent keyedEvent(Long outboxId, Long orderId, OrderCreated event) throws Exception {
+        OutboxEvent outboxEvent = pendingEvent(outboxId, event.eventId());
+        outboxEvent.setAggregateId(orderId);
+        outboxEvent.setPayload(new AppConfig().objectMapper().writeValueAsString(event));
+        return outboxEvent;
+    }
+
+    private OutboxEvent pendingEvent(Long outboxId, String eventId) {
+        return OutboxEvent.builder()
+                .outboxId(outboxId)
+                .eventId(eventId)
+                .eventType("ORDER")
+                .payload("{}")
+                .status(EventStatusEnum.PENDING)
+                .build();
+    }
+}
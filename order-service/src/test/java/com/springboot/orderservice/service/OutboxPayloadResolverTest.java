@@ -0,0 +1,123 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.eventcontract.codec.EventContentType;
+import com.springboot.eventcontract.codec.OrderCreatedCodec;
+import com.springboot.eventcontract.codec.OrderCreatedJson;
+import com.springboot.eventcontract.event.OrderCreated;
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.dto.OrderStatusEnum;
+import com.springboot.orderservice.dto.OutboxPayloadModeEnum;
+import com.springboot.orderservice.mapper.OrderMapper;
+import com.springboot.orderservice.model.Order;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPayloadResolverTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OutboxPayloadResolver payloadResolver;
+
+    @BeforeEach
+    void setUp() {
+        payloadResolver = new OutboxPayloadResolver(orderRepository, Mappers.getMapper(OrderMapper.class));
+    }
+
+    @Test
+    void resolve_shouldPublishStoredPayloadsWithoutLoadingOrders() {
+        OutboxEvent full = event(10L, 1L, "{\"orderId\":1}");
+
+        Map<Long, byte[]> values = payloadResolver.resolve(List.of(full));
+
+        assertArrayEquals("{\"orderId\":1}".getBytes(StandardCharsets.UTF_8), values.get(10L));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void resolve_shouldRebuildReferenceRowsWithOneLookup() throws Exception {
+        Instant createdAt = Instant.parse("2026-02-17T07:14:55Z");
+        when(orderRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(order(1L, createdAt), order(2L, createdAt)));
+
+        Map<Long, byte[]> values = payloadResolver.resolve(List.of(
+                event(10L, 1L, null), event(11L, 2L, null), event(12L, 3L, "{}")));
+
+        verify(orderRepository, times(1)).findAllById(any());
+        OrderCreated rebuilt = OrderCreatedJson.decode(values.get(10L));
+        assertEquals(new OrderCreated("event-10", createdAt, 1L, "test@mail.com", "P100", 2), rebuilt);
+        assertEquals(3, values.size());
+    }
+
+    @Test
+    void resolve_whenOrderIsMissing_shouldLeaveRowOut() {
+        when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of());
+
+        Map<Long, byte[]> values = payloadResolver.resolve(List.of(event(10L, 1L, null)));
+
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    void resolve_withBinaryContentType_shouldEncodeReferenceRowsAndPublishStoredJsonAsIs() throws Exception {
+        ReflectionTestUtils.setField(payloadResolver, "contentType", EventContentType.BINARY);
+        Instant createdAt = Instant.parse("2026-02-17T07:14:55Z");
+        String stored = new String(OrderCreatedJson.encode(
+                new OrderCreated("event-11", createdAt, 2L, "test@mail.com", "P100", 2)), StandardCharsets.UTF_8);
+        when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of(order(1L, createdAt)));
+
+        Map<Long, byte[]> values = payloadResolver.resolve(List.of(
+                event(10L, 1L, null), event(11L, 2L, stored)));
+
+        assertEquals(new OrderCreated("event-10", createdAt, 1L, "test@mail.com", "P100", 2),
+                OrderCreatedCodec.decode(values.get(10L)));
+        assertArrayEquals(stored.getBytes(StandardCharsets.UTF_8), values.get(11L));
+    }
+
+    @Test
+    void validate_shouldOnlyAcceptBinaryContentType_inReferenceMode() {
+        ReflectionTestUtils.setField(payloadResolver, "contentType", EventContentType.BINARY);
+
+        assertThrows(IllegalStateException.class, () -> payloadResolver.validate());
+
+        ReflectionTestUtils.setField(payloadResolver, "payloadMode", OutboxPayloadModeEnum.REFERENCE);
+        assertDoesNotThrow(() -> payloadResolver.validate());
+    }
+
+    private OutboxEvent event(Long outboxId, Long orderId, String payload) {
+        return OutboxEvent.builder()
+                .outboxId(outboxId)
+                .eventId("event-" + outboxId)
+                .aggregateId(orderId)
+                .payload(payload)
+                .status(EventStatusEnum.PENDING)
+                .build();
+    }
+
+    private Order order(Long id, Instant createdAt) {
+        return Order.builder()
+                .id(id)
+                .customerEmail("test@mail.com")
+                .productCode("P100")
+                .quantity(2)
+                .status(OrderStatusEnum.CREATED)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.config.AppConfig;
+import com.springboot.orderservice.dto.EventStatusEnum;
+import com.springboot.orderservice.dto.OutboxRelayModeEnum;
+import com.springboot.orderservice.model.OutboxEvent;
+import com.springboot.orderservice.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRetentionServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @TempDir
+    private Path archiveDir;
+
+    private OutboxRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxArchiveWriter archiveWriter = new OutboxArchiveWriter(new AppConfig().objectMapper());
+        ReflectionTestUtils.setField(archiveWriter, "directory", archiveDir.toString());
+
+        retentionService = new OutboxRetentionService(outboxRepository, archiveWriter);
+        ReflectionTestUtils.setField(retentionService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 2);
+        ReflectionTestUtils.setField(retentionService, "pauseMs", 0L);
+        ReflectionTestUtils.setField(retentionService, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(retentionService, "relayMode", OutboxRelayModeEnum.POLLING);
+    }
+
+    @Test
+    void purge_shouldDeleteInBatchesUntilNothingIsLeft() {
+        when(outboxRepository.findIdsCreatedBefore(eq(List.of("PROCESSED")), any(), eq(2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(outboxRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(outboxRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        int deleted = retentionService.purge();
+
+        assertEquals(3, deleted);
+        verify(outboxRepository, times(2)).findIdsCreatedBefore(any(), any(), anyInt());
+        verify(outboxRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void purge_shouldAlsoDeletePendingRowsInBinlogMode() {
+        ReflectionTestUtils.setField(retentionService, "relayMode", OutboxRelayModeEnum.BINLOG);
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenReturn(List.of());
+
+        retentionService.purge();
+
+        verify(outboxRepository).findIdsCreatedBefore(eq(List.of("PENDING", "PROCESSED")), any(), eq(2));
+    }
+
+    @Test
+    void purge_shouldUseTtlCutoff() {
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        retentionService.purge();
+
+        verify(outboxRepository).findIdsCreatedBefore(eq(List.of("PROCESSED")),
+                argThat(cutoff -> !cutoff.isBefore(before) && cutoff.isBefore(before.plusMinutes(1))), eq(2));
+        verify(outboxRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void purge_shouldStopAtBatchLimit() {
+        ReflectionTestUtils.setField(retentionService, "maxBatchesPerRun", 3);
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.deleteByIds(any())).thenReturn(2);
+
+        assertEquals(6, retentionService.purge());
+        verify(outboxRepository, times(3)).deleteByIds(any());
+    }
+
+    @Test
+    void purge_withArchive_shouldWriteCompressedNdjsonBeforeDeleting() throws IOException {
+        ReflectionTestUtils.setField(retentionService, "archiveEnabled", true);
+        OutboxEvent event = OutboxEvent.builder()
+                .outboxId(7L)
+                .eventId("event-7")
+                .eventType("ORDER")
+                .payload("{\"orderId\":7}")
+                .status(EventStatusEnum.PROCESSED)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 10, 0))
+                .build();
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenReturn(List.of(7L));
+        when(outboxRepository.findAllById(List.of(7L))).thenReturn(List.of(event));
+        when(outboxRepository.deleteByIds(List.of(7L))).thenReturn(1);
+
+        retentionService.purge();
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(archiveDir)) {
+            files = listing.toList();
+        }
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith("-7.ndjson.gz"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(files.get(0))), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).contains("\"eventId\":\"event-7\""));
+            assertTrue(lines.get(0).contains("\"createdAt\":\"2026-01-01T10:00:00\""));
+        }
+        verify(outboxRepository).deleteByIds(List.of(7L));
+    }
+
+    @Test
+    void purge_whenArchiveFails_shouldNotDelete() {
+        OutboxArchiveWriter failingWriter = mock(OutboxArchiveWriter.class);
+        when(failingWriter.write(any())).thenThrow(new IllegalStateException("disk full"));
+        retentionService = new OutboxRetentionService(outboxRepository, failingWriter);
+        ReflectionTestUtils.setField(retentionService, "archiveEnabled", true);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 2);
+        ReflectionTestUtils.setField(retentionService, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(retentionService, "relayMode", OutboxRelayModeEnum.POLLING);
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenReturn(List.of(7L));
+
+        assertThrows(IllegalStateException.class, () -> retentionService.purge());
+
+        verify(outboxRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void purgeScheduled_shouldRunOffTheSchedulerThread_andSkipWhileARunIsGoing() throws Exception {
+        ReflectionTestUtils.setField(retentionService, "enabled", true);
+        CountDownLatch purgeStarted = new CountDownLatch(1);
+        CountDownLatch releasePurge = new CountDownLatch(1);
+        List<String> purgeThreads = new CopyOnWriteArrayList<>();
+        when(outboxRepository.findIdsCreatedBefore(any(), any(), anyInt())).thenAnswer(invocation -> {
+            purgeThreads.add(Thread.currentThread().getName());
+            purgeStarted.countDown();
+            releasePurge.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        retentionService.purgeScheduled();
+        // the scheduler thread is back right away; a second trigger does not start another run
+        retentionService.purgeScheduled();
+        assertTrue(purgeStarted.await(5, TimeUnit.SECONDS));
+        releasePurge.countDown();
+
+        verify(outboxRepository, after(200).times(1)).findIdsCreatedBefore(any(), any(), anyInt());
+        assertEquals(List.of("outbox-retention"), purgeThreads);
+        retentionService.stop();
+    }
+}
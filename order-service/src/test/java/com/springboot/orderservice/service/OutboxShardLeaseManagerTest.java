@@ -0,0 +1,117 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.repository.OutboxPublisherInstanceRepository;
+import com.springboot.orderservice.repository.OutboxShardLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxShardLeaseManagerTest {
+
+    private static final String INSTANCE = "instance-a";
+
+    @Mock
+    private OutboxShardLeaseRepository leaseRepository;
+
+    @Mock
+    private OutboxPublisherInstanceRepository instanceRepository;
+
+    @Mock
+    private OutboxShardRouter shardRouter;
+
+    @InjectMocks
+    private OutboxShardLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaseManager, "configuredInstanceId", INSTANCE);
+        ReflectionTestUtils.setField(leaseManager, "leaseDurationMs", 15_000L);
+        leaseManager.init();
+        when(shardRouter.getShardCount()).thenReturn(8);
+    }
+
+    @Test
+    void rebalance_whenAlone_shouldAcquireAllShards() {
+        when(instanceRepository.countByHeartbeatAtAfter(any())).thenReturn(1L);
+        when(leaseRepository.findOwnedShards(eq(INSTANCE), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+        when(leaseRepository.acquireFree(eq(INSTANCE), any(), any(), eq(8))).thenReturn(8);
+
+        leaseManager.rebalance();
+
+        verify(instanceRepository).heartbeat(eq(INSTANCE), any());
+        verify(leaseRepository, times(8)).insertIfMissing(anyInt());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), leaseManager.getOwnedShards());
+    }
+
+    @Test
+    void rebalance_whenAnotherInstanceJoins_shouldReleaseSurplus() {
+        when(instanceRepository.countByHeartbeatAtAfter(any())).thenReturn(2L);
+        when(leaseRepository.findOwnedShards(eq(INSTANCE), any())).thenReturn(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+
+        leaseManager.rebalance();
+
+        verify(leaseRepository).release(INSTANCE, List.of(4, 5, 6, 7));
+        verify(leaseRepository, never()).acquireFree(any(), any(), any(), anyInt());
+        assertEquals(List.of(0, 1, 2, 3), leaseManager.getOwnedShards());
+    }
+
+    @Test
+    void rebalance_shouldCreateShardRowsOnlyOnce() {
+        when(instanceRepository.countByHeartbeatAtAfter(any())).thenReturn(1L);
+        when(leaseRepository.findOwnedShards(eq(INSTANCE), any())).thenReturn(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+
+        leaseManager.rebalance();
+        leaseManager.rebalance();
+
+        verify(leaseRepository, times(8)).insertIfMissing(anyInt());
+        verify(leaseRepository, times(2)).renew(eq(INSTANCE), any(), any());
+    }
+
+    @Test
+    void shardsForWorker_shouldSplitOwnedShardsRoundRobin() {
+        when(instanceRepository.countByHeartbeatAtAfter(any())).thenReturn(2L);
+        when(leaseRepository.findOwnedShards(eq(INSTANCE), any())).thenReturn(List.of(1, 3, 5, 7));
+
+        leaseManager.rebalance();
+
+        assertEquals(List.of(1, 5), leaseManager.shardsForWorker(0, 2));
+        assertEquals(List.of(3, 7), leaseManager.shardsForWorker(1, 2));
+    }
+
+    @Test
+    void shardsForWorker_whenLeaseLapsed_shouldReturnNothing() {
+        when(instanceRepository.countByHeartbeatAtAfter(any())).thenReturn(1L);
+        when(leaseRepository.findOwnedShards(eq(INSTANCE), any())).thenReturn(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+        ReflectionTestUtils.setField(leaseManager, "leaseDurationMs", -1L);
+
+        leaseManager.rebalance();
+
+        assertTrue(leaseManager.shardsForWorker(0, 1).isEmpty());
+    }
+
+    @Test
+    void fairShare_shouldRoundUp() {
+        assertEquals(16, OutboxShardLeaseManager.fairShare(16, 1));
+        assertEquals(6, OutboxShardLeaseManager.fairShare(16, 3));
+        assertEquals(1, OutboxShardLeaseManager.fairShare(16, 32));
+    }
+}
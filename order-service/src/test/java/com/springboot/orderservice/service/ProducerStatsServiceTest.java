@@ -0,0 +1,75 @@
+package com.springboot.orderservice.service;
+
+import com.springboot.orderservice.dto.ProducerProfileEnum;
+import com.springboot.orderservice.dto.ProducerStats;
+import com.springboot.orderservice.producer.ProducerProfileCustomizer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProducerStatsServiceTest {
+
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private ProducerProfileCustomizer profileCustomizer;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> configs = new HashMap<>();
+        // nothing listens here; the producer only connects on the first send
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9");
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        producerFactory = new DefaultKafkaProducerFactory<>(configs);
+
+        profileCustomizer = new ProducerProfileCustomizer();
+        ReflectionTestUtils.setField(profileCustomizer, "applicationName", "order-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void getStats_shouldReportProfileSettingsAndMetrics() {
+        ReflectionTestUtils.setField(profileCustomizer, "profile", ProducerProfileEnum.HIGH_THROUGHPUT);
+        profileCustomizer.customize(producerFactory);
+
+        ProducerStats stats = new ProducerStatsService(new KafkaTemplate<>(producerFactory), profileCustomizer).getStats();
+
+        assertEquals(ProducerProfileEnum.HIGH_THROUGHPUT, stats.getProfile());
+        assertEquals(20, stats.getSettings().get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("zstd", stats.getSettings().get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(true, stats.getSettings().get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("order-service-high-throughput-1", stats.getSettings().get(ProducerConfig.CLIENT_ID_CONFIG));
+        // settings outside the profile are kept
+        assertEquals(5000, stats.getSettings().get(ProducerConfig.MAX_BLOCK_MS_CONFIG));
+        assertEquals(0.0, stats.getMetrics().get("record-send-rate"));
+        assertTrue(stats.getMetrics().containsKey("compression-rate-avg"));
+    }
+
+    @Test
+    void customize_shouldReplaceProfileSettingsOnly() {
+        producerFactory.updateConfigs(Map.of(ProducerConfig.LINGER_MS_CONFIG, 50, ProducerConfig.RETRIES_CONFIG, 7));
+        ReflectionTestUtils.setField(profileCustomizer, "profile", ProducerProfileEnum.LOW_LATENCY);
+
+        profileCustomizer.customize(producerFactory);
+
+        Map<String, Object> configs = producerFactory.getConfigurationProperties();
+        assertEquals(0, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("none", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(7, configs.get(ProducerConfig.RETRIES_CONFIG));
+    }
+}
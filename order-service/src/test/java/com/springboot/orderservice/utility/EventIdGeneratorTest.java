@@ -0,0 +1,40 @@
+package com.springboot.orderservice.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventIdGeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7Uuid() {
+        UUID id = EventIdGenerator.uuidV7();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void shouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = EventIdGenerator.uuidV7();
+
+        long embeddedMillis = id.getMostSignificantBits() >>> 16;
+        assertThat(embeddedMillis).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void shouldBeMonotonicWhenGeneratedInSequence() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(EventIdGenerator.newEventId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+}